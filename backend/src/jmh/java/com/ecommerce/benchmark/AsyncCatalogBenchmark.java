@@ -0,0 +1,227 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.service.CatalogWarmup;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the blocking product API with its non-blocking variant under
+ * {@code benchmark.async.connections} concurrent connections against a slow
+ * database (see {@link SlowDatabase}). Each connection is a closed-loop client
+ * that sends its next request as soon as the previous one is answered; a
+ * {@code benchmark.async.db-share} of the requests are filtered listings that
+ * need the database, the rest read the category list from memory. The report
+ * gives throughput, errors and latency percentiles per request kind, so it
+ * shows whether the database-bound requests still hold back the ones that
+ * never touch the database.
+ *
+ * <p>Client and server share this process, so it needs about two file
+ * descriptors per connection ({@code ulimit -n}). The HTTP client completes
+ * responses on the common fork-join pool, which on one or two CPUs starts a
+ * thread per response unless its parallelism is raised. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.jvmArguments="-Xmx2g -Djava.util.concurrent.ForkJoinPool.common.parallelism=4" \
+ *     -Dspring-boot.run.arguments="--benchmark.name=async --benchmark.async.connections=10000"
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "async")
+public class AsyncCatalogBenchmark implements CommandLineRunner {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final String[] STACKS = {"/api/products", "/api/async/products"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogWarmup catalogWarmup;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.async.products:2000}")
+    private int products;
+
+    @Value("${benchmark.async.connections:10000}")
+    private int connections;
+
+    @Value("${benchmark.async.db-share:0.5}")
+    private double dbShare;
+
+    @Value("${benchmark.async.ramp:PT10S}")
+    private Duration ramp;
+
+    @Value("${benchmark.async.duration:PT30S}")
+    private Duration duration;
+
+    @Override
+    public void run(String... args) {
+        // Seeded before the warm-up starts, so the warm-up indexes these products
+        long start = System.nanoTime();
+        jdbcTemplate.execute("DELETE FROM products");
+        String[] categories = {"MEN", "WOMEN", "KIDS"};
+        String[] sizes = {"S", "M", "L", "XL"};
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            rows.add(new Object[]{i + 1L, "Product " + i, "Async benchmark product " + i,
+                    BigDecimal.valueOf(999 + random.nextInt(19_000), 2), categories[i % categories.length],
+                    "https://example.com/" + i + ".jpg", sizes[random.nextInt(sizes.length)], "Black",
+                    random.nextInt(100)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, category, image_url, size, color, stock, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        System.out.println("Seeded " + products + " products in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(() -> {
+            int exitCode = 0;
+            try {
+                while (!catalogWarmup.isReady()) {
+                    if (catalogWarmup.getStatus() == CatalogWarmup.Status.FAILED) {
+                        throw new IllegalStateException("Catalog warm-up failed");
+                    }
+                    Thread.sleep(100);
+                }
+                String base = "http://localhost:" + environment.getProperty("local.server.port");
+                System.out.printf("%d connections, %.0f%% database reads, %d s after a %d s ramp-up%n",
+                        connections, dbShare * 100, duration.toSeconds(), ramp.toSeconds());
+                System.out.printf("%-20s %-8s %9s %8s %9s %9s %9s %9s%n", "stack", "kind", "requests", "errors",
+                        "per s", "p50 ms", "p99 ms", "max ms");
+                // One client for both stacks, so the second reuses the first one's connections
+                ExecutorService callbacks = Executors.newFixedThreadPool(4);
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .executor(callbacks)
+                        .build();
+                for (String stack : STACKS) {
+                    drive(client, callbacks, base + stack);
+                }
+                callbacks.shutdownNow();
+            } catch (Exception e) {
+                System.err.println("Async benchmark failed: " + e);
+                e.printStackTrace();
+                exitCode = 1;
+            }
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }, "async-benchmark");
+        thread.start();
+    }
+
+    private void drive(HttpClient client, ExecutorService callbacks, String stack) throws InterruptedException {
+        Load load = new Load(client, callbacks, stack);
+        long rampNanos = ramp.toNanos();
+        load.measureFrom = System.nanoTime() + rampNanos;
+        load.end = load.measureFrom + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            long startAt = System.nanoTime() + rampNanos * i / connections;
+            CompletableFuture.delayedExecutor(Math.max(0, startAt - System.nanoTime()), TimeUnit.NANOSECONDS, callbacks)
+                    .execute(() -> load.next(done));
+        }
+        done.await(duration.toSeconds() + ramp.toSeconds() + 120, TimeUnit.SECONDS);
+        double seconds = duration.toNanos() / 1e9;
+        load.report("db", load.db, load.dbErrors, seconds);
+        load.report("memory", load.memory, load.memoryErrors, seconds);
+    }
+
+    private final class Load {
+        final HttpClient client;
+        final ExecutorService callbacks;
+        final String stack;
+        final Histogram db = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final Histogram memory = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final AtomicLong dbErrors = new AtomicLong();
+        final AtomicLong memoryErrors = new AtomicLong();
+        volatile long measureFrom;
+        volatile long end;
+
+        Load(HttpClient client, ExecutorService callbacks, String stack) {
+            this.client = client;
+            this.callbacks = callbacks;
+            this.stack = stack;
+        }
+
+        void next(CountDownLatch done) {
+            if (System.nanoTime() >= end) {
+                done.countDown();
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean database = random.nextDouble() < dbShare;
+            URI uri;
+            if (database) {
+                int min = 10 + random.nextInt(150);
+                uri = URI.create(stack + "?minPrice=" + min + "&maxPrice=" + (min + 20) + "&page="
+                        + random.nextInt(5) + "&size=24");
+            } else {
+                uri = URI.create(stack + "/categories");
+            }
+            long begin = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long now = System.nanoTime();
+                boolean failed = error != null || response.statusCode() != 200;
+                // Counted by completion, so slow responses still show up in the measured window
+                if (now >= measureFrom && now < end) {
+                    (database ? db : memory).recordValue(Math.min((now - begin) / 1000, MAX_LATENCY_MICROS));
+                    if (failed) {
+                        (database ? dbErrors : memoryErrors).incrementAndGet();
+                    }
+                }
+                if (error != null) {
+                    // Back off instead of spinning on a refused or reset connection
+                    CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS, callbacks).execute(() -> next(done));
+                } else {
+                    next(done);
+                }
+            });
+        }
+
+        void report(String kind, Histogram histogram, AtomicLong errors, double seconds) {
+            System.out.printf("%-20s %-8s %9d %8d %9.0f %9.2f %9.2f %9.2f%n", stack.replaceFirst("^https?://[^/]+", ""),
+                    kind, histogram.getTotalCount(), errors.get(), histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
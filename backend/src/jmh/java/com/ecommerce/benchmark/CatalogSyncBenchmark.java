@@ -0,0 +1,75 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.SyncReport;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.CatalogSyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Syncs a synthetic supplier catalog of {@code benchmark.rows} products three
+ * times: the initial load, an unchanged re-sync, and a re-sync where 1% of
+ * products changed and 1% disappeared. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments="--benchmark.name=sync --benchmark.rows=100000" \
+ *     -Dspring-boot.run.jvmArguments=-Xmx3g
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "sync")
+public class CatalogSyncBenchmark implements CommandLineRunner {
+
+    private static final String SUPPLIER = "benchmark";
+
+    @Autowired
+    private CatalogSyncService catalogSyncService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    @Override
+    public void run(String... args) throws Exception {
+        report("initial load", catalogSyncService.sync(SUPPLIER, catalog(rows, 0)));
+        report("unchanged", catalogSyncService.sync(SUPPLIER, catalog(rows, 0)));
+        report("1% changed, 1% gone", catalogSyncService.sync(SUPPLIER, catalog(rows, 100)));
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    // Every changeEvery-th product gets a new price and the one after it is dropped
+    private static List<Product> catalog(int count, int changeEvery) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean changed = changeEvery > 0 && i % changeEvery == 0;
+            if (changeEvery > 0 && i % changeEvery == 1) {
+                continue;
+            }
+            Product product = new Product("Supplier Product " + i, "Synthetic supplier product " + i,
+                    BigDecimal.valueOf(changed ? 2999 + i % 1000 : 999 + i % 1000, 2), i % 2 == 0 ? "MEN" : "WOMEN",
+                    "https://cdn.example.com/" + i + ".jpg", "M", "Black", 10);
+            product.setSupplierId(Integer.toString(i));
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static void report(String label, SyncReport report) {
+        System.out.printf("%-22s %7d inserted %7d updated %7d deleted %7d unchanged in %6d ms%n", label,
+                report.getInserted(), report.getUpdated(), report.getDeleted(), report.getUnchanged(),
+                report.getMillis());
+    }
+}
@@ -0,0 +1,184 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.OrderRequest;
+import com.ecommerce.model.CustomerOrder;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.service.InsufficientStockException;
+import com.ecommerce.service.InventoryService;
+import com.ecommerce.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hammers a few hot SKUs with concurrent checkouts and verifies that nothing
+ * is oversold: every SKU must end with its initial stock minus the units of
+ * its confirmed orders, and never below zero. The process exits with status 1
+ * when any SKU does not add up. {@code benchmark.threads} (default 2000)
+ * checkouts are in flight at once, each making at least four attempts; they
+ * queue for the database connection pool, which is where the contention is.
+ * Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments="--benchmark.name=checkout --benchmark.threads=2000"
+ * </pre>
+ * Add {@code --inventory.write-behind.enabled=true} to run against the
+ * in-memory inventory engine instead of row-level conditional updates.
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "checkout")
+public class CheckoutLoadTest implements CommandLineRunner {
+
+    // Stock per hot SKU
+    private static final int STOCK = 2_000;
+    private static final double CANCEL_RATE = 0.1;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.threads:2000}")
+    private int threads;
+
+    @Override
+    public void run(String... args) throws Exception {
+        System.out.println("Stock reservations via " + (inventoryService.isEnabled()
+                ? "striped in-memory counters with write-behind" : "conditional UPDATE on products"));
+        boolean ok = scenario("1 hot SKU, 1 unit per order", 1, 1, 1);
+        ok &= scenario("4 hot SKUs, 2 lines of 1-2 units", 4, 2, 2);
+        System.out.println(ok ? "No overselling detected" : "OVERSELLING DETECTED");
+        int exitCode = ok ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private boolean scenario(String label, int skus, int lines, int maxQuantity) throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < skus; i++) {
+            Product product = new Product("Hot SKU " + i, "Load test product", new BigDecimal("19.99"), "MEN",
+                    "https://example.com/hot.jpg", "M", "Black", STOCK);
+            ids.add(productRepository.save(product).getId());
+        }
+        // Enough to sell out several times over, and to keep every thread busy
+        int attempts = Math.max(STOCK * skus * 4 / (lines * maxQuantity), threads * 4);
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[attempts];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = next.getAndIncrement(); n < attempts; n = next.getAndIncrement()) {
+                    long begin = System.nanoTime();
+                    try {
+                        CustomerOrder order = orderService.reserve(new OrderRequest(randomLines(ids, lines, maxQuantity, random)));
+                        if (random.nextDouble() < CANCEL_RATE) {
+                            orderService.cancel(order.getId());
+                            cancelled.incrementAndGet();
+                        } else {
+                            orderService.confirm(order.getId());
+                            confirmed.incrementAndGet();
+                        }
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[n] = System.nanoTime() - begin;
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d checkouts on %d threads in %.1f s (%.0f/s), p50=%.2f ms p99=%.2f ms%n",
+                label, attempts, threads, seconds, attempts / seconds,
+                latencies[attempts / 2] / 1e6, latencies[attempts * 99 / 100] / 1e6);
+        System.out.printf("  confirmed=%d cancelled=%d rejected (out of stock)=%d errors=%d%n",
+                confirmed.get(), cancelled.get(), rejected.get(), errors.get());
+        return verify(ids);
+    }
+
+    private boolean verify(List<Long> ids) {
+        inventoryService.flush();
+        Map<Long, Integer> sold = new HashMap<>();
+        for (CustomerOrder order : orderRepository.findAll()) {
+            if (order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.RESERVED) {
+                for (OrderItem item : order.getItems()) {
+                    sold.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        boolean ok = true;
+        for (Long id : ids) {
+            int stock = productRepository.findById(id).orElseThrow().getStock();
+            int units = sold.getOrDefault(id, 0);
+            boolean consistent = stock >= 0 && stock + units == STOCK
+                    && (!inventoryService.isEnabled() || inventoryService.available(id) == stock);
+            ok &= consistent;
+            System.out.printf("  SKU %d: sold %d of %d, %d left%s%n", id, units, STOCK, stock,
+                    consistent ? "" : "  <-- MISMATCH");
+        }
+        return ok;
+    }
+
+    private static List<OrderRequest.Line> randomLines(List<Long> ids, int lines, int maxQuantity,
+                                                       ThreadLocalRandom random) {
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled, random);
+        List<OrderRequest.Line> result = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            result.add(new OrderRequest.Line(shuffled.get(i), 1 + random.nextInt(maxQuantity)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.columnar.ColumnarCatalog;
+import com.ecommerce.columnar.ColumnarCatalogWriter;
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Seeds {@code benchmark.rows} products and compares loading the catalog
+ * through JPA (entities and {@link ProductSummary} projections) with mapping a
+ * {@link ColumnarCatalog} export: load time, retained heap and resident set
+ * size. The export is read back and checked row by row against the database,
+ * and a filtered listing is timed on both paths. With the in-memory database
+ * the loaded strings are the ones H2 already holds, so JPA heap is undercounted;
+ * point the datasource at a scratch file for comparable numbers:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.jvmArguments=-Xmx3g \
+ *     -Dspring-boot.run.arguments="--benchmark.name=columnar --benchmark.rows=200000 --spring.datasource.url=jdbc:h2:file:/tmp/columnar-bench"
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "columnar")
+public class ColumnarCatalogBenchmark implements CommandLineRunner {
+
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    @Override
+    public void run(String... args) throws Exception {
+        seed(rows);
+        Path file = Files.createTempFile("catalog", ".columnar");
+        try {
+            System.out.printf("%-24s %9s %12s %12s%n", "path", "load ms", "heap MB", "rss MB");
+            measure("JPA entities", productRepository::findAll);
+            List<ProductSummary> summaries = measure("JPA summaries",
+                    () -> productRepository.findSummaries(null, ProductSort.ID.toSort(), 0, 0));
+
+            long start = System.nanoTime();
+            long bytes = ColumnarCatalogWriter.write(file, summaries, 0);
+            System.out.printf("Exported %d products to %d MB in %d ms%n", summaries.size(), bytes >> 20,
+                    (System.nanoTime() - start) / 1_000_000);
+
+            ColumnarCatalog catalog = measure("columnar mmap", () -> {
+                try {
+                    return ColumnarCatalog.open(file);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            long before = residentMb();
+            long checksum = 0;
+            for (int row = 0; row < catalog.size(); row++) {
+                checksum += catalog.priceCents(row) + catalog.stock(row);
+            }
+            System.out.printf("Full column scan touched %d MB of mapped pages (checksum %d)%n",
+                    residentMb() - before, checksum);
+
+            verify(summaries, catalog);
+            summaries = null;
+
+            ProductQuery query = new ProductQuery();
+            query.setCategory("MEN");
+            query.setSizes(List.of("M", "L"));
+            query.setMinPrice(new BigDecimal("20"));
+            query.setMaxPrice(new BigDecimal("100"));
+            int jpaCount = productRepository.findSummaries(ProductSpecifications.matching(query),
+                    ProductSort.ID.toSort(), 0, 0).size();
+            int columnarCount = catalog.filter(query).length;
+            System.out.printf("Filter MEN, M/L, 20-100: %d rows (JPA %d)%n", columnarCount, jpaCount);
+            time("JPA filter, 24 rows", () -> productRepository.findSummaries(
+                    ProductSpecifications.matching(query), ProductSort.ID.toSort(), 0, 24));
+            time("columnar filter, 24 rows", () -> catalog.summaries(catalog.filter(query), 0, 24));
+            time("JPA filter, all rows", () -> productRepository.findSummaries(
+                    ProductSpecifications.matching(query), ProductSort.ID.toSort(), 0, 0));
+            time("columnar filter, all", () -> {
+                int[] matches = catalog.filter(query);
+                return catalog.summaries(matches, 0, matches.length);
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Loads with {@code load}, keeps the result reachable and reports how much
+     * heap it retains after a full GC.
+     */
+    private <T> T measure(String label, Supplier<T> load) {
+        long heapBefore = usedHeapMb();
+        long rssBefore = residentMb();
+        long start = System.nanoTime();
+        T result = load.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-24s %9d %12d %12d%n", label, millis, usedHeapMb() - heapBefore,
+                residentMb() - rssBefore);
+        return result;
+    }
+
+    private void verify(List<ProductSummary> expected, ColumnarCatalog catalog) {
+        if (expected.size() != catalog.size()) {
+            throw new IllegalStateException("Round trip lost rows: " + expected.size() + " vs " + catalog.size());
+        }
+        for (int row = 0; row < expected.size(); row++) {
+            ProductSummary a = expected.get(row);
+            ProductSummary b = catalog.summary(row);
+            boolean same = a.getId().equals(b.getId())
+                    && Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getDescription(), b.getDescription())
+                    && a.getPrice().compareTo(b.getPrice()) == 0
+                    && Objects.equals(a.getCategory(), b.getCategory())
+                    && Objects.equals(a.getImageUrl(), b.getImageUrl())
+                    && Objects.equals(a.getSize(), b.getSize())
+                    && Objects.equals(a.getColor(), b.getColor())
+                    && Objects.equals(a.getStock(), b.getStock());
+            if (!same || catalog.indexOf(a.getId()) != row) {
+                throw new IllegalStateException("Round trip changed product " + a.getId());
+            }
+        }
+        System.out.println("Round trip verified for " + expected.size() + " products");
+    }
+
+    private void time(String label, Supplier<?> query) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            query.get();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-28s p50=%8.3f ms  max=%8.3f ms%n", label, samples[ITERATIONS / 2] / 1e6,
+                samples[ITERATIONS - 1] / 1e6);
+    }
+
+    private static long usedHeapMb() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+    }
+
+    // Resident set size from /proc, or 0 where it is not available
+    private static long residentMb() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) >> 10;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // Not Linux
+        }
+        return 0;
+    }
+
+    private void seed(int count) {
+        long start = System.nanoTime();
+        jdbcTemplate.execute("DELETE FROM products");
+        String[] categories = {"MEN", "WOMEN", "KIDS"};
+        String[] sizes = {"S", "M", "L", "XL", "XXL"};
+        String[] colors = {"Black", "White", "Blue", "Red", "Gray", "Navy"};
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{
+                    i + 1L,
+                    "Product " + i,
+                    "Synthetic columnar product " + i,
+                    BigDecimal.valueOf(999 + random.nextInt(19_000), 2),
+                    categories[i % categories.length],
+                    "https://example.com/" + i + ".jpg",
+                    sizes[random.nextInt(sizes.length)],
+                    colors[random.nextInt(colors.length)],
+                    random.nextInt(100)});
+            if (batch.size() == 10_000 || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, category, image_url, size, color, stock, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        System.out.println("Seeded " + count + " products in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
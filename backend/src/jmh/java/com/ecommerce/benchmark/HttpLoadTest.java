@@ -0,0 +1,373 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.importer.ProductSource;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.FakeStoreService;
+import com.ecommerce.service.ProductImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test of the catalog read endpoints. Requests are
+ * issued at a fixed arrival rate whatever the server's response time, picked
+ * from a weighted mix of product detail, full listing, category listing and
+ * category list requests. Latency is measured from each request's scheduled
+ * start, so a stalled server shows up in the percentiles instead of slowing
+ * the load down, and is recorded in HdrHistograms per endpoint.
+ *
+ * <p>Unless {@code benchmark.load.base-url} points at another instance, the
+ * embedded H2 database is seeded offline with
+ * {@link FakeStoreService#generateMinimumProducts(int, int, int, Random)}
+ * from a fixed seed, and the load runs against this application's own port
+ * once its warm-up is done. Every mix runs at every rate in
+ * {@code benchmark.load.rates}, after a warm-up at the same rate. The results
+ * are written to {@code benchmark.load.report-dir}/{@code label}: a
+ * {@code summary.json} with percentiles per run and endpoint, and one
+ * {@code .hgrm} percentile distribution per run for the HdrHistogram plotter.
+ * Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments="--benchmark.name=http --benchmark.load.rates=100,200 --benchmark.load.label=1.0.0"
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "http")
+public class HttpLoadTest implements CommandLineRunner {
+
+    // Latencies in microseconds, up to a minute, at 3 significant digits
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String[] CATEGORIES = {"MEN", "WOMEN", "KIDS"};
+
+    enum Endpoint {
+        DETAIL, LIST, CATEGORY, CATEGORIES;
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    @Autowired
+    private FakeStoreService fakeStoreService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.load.base-url:}")
+    private String baseUrl;
+
+    @Value("${benchmark.load.products-per-category:500}")
+    private int productsPerCategory;
+
+    @Value("${benchmark.load.mixes:detail-heavy=detail:80,category:15,list:3,categories:2}")
+    private String mixes;
+
+    @Value("${benchmark.load.rates:50,100,200}")
+    private List<Integer> rates;
+
+    @Value("${benchmark.load.warmup:PT5S}")
+    private Duration warmup;
+
+    @Value("${benchmark.load.duration:PT20S}")
+    private Duration duration;
+
+    @Value("${benchmark.load.report-dir:load-reports}")
+    private Path reportDir;
+
+    @Value("${benchmark.load.label:}")
+    private String label;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!baseUrl.isBlank()) {
+            return;
+        }
+        // Seeded before the warm-up starts, so the warm-up indexes the synthetic catalog
+        long start = System.nanoTime();
+        List<Product> products = fakeStoreService.generateMinimumProducts(productsPerCategory, productsPerCategory,
+                productsPerCategory, new Random(42));
+        productImportService.importProducts(ProductSource.of(products.iterator()), 1000);
+        System.out.println("Seeded " + products.size() + " synthetic products in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(() -> {
+            int exitCode = 0;
+            try {
+                drive();
+            } catch (Exception e) {
+                System.err.println("HTTP load test failed: " + e);
+                e.printStackTrace();
+                exitCode = 1;
+            }
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }, "http-load");
+        thread.start();
+    }
+
+    private void drive() throws Exception {
+        String base = baseUrl.isBlank()
+                ? "http://localhost:" + environment.getProperty("local.server.port")
+                : baseUrl.replaceAll("/+$", "");
+        awaitReady(base);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode product : objectMapper.readTree(get(base + "/api/products").body())) {
+            ids.add(product.get("id").asLong());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No products at " + base);
+        }
+        System.out.println("Driving " + base + " (" + ids.size() + " products)");
+
+        List<Map<String, Object>> runs = new ArrayList<>();
+        Map<String, Histogram> distributions = new LinkedHashMap<>();
+        System.out.printf("%-16s %6s %9s %7s %9s %9s %9s %9s %9s%n", "mix", "rate", "requests", "errors",
+                "achieved", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, Map<Endpoint, Integer>> mix : parseMixes(mixes).entrySet()) {
+            for (int rate : rates) {
+                // Same request sequence for every mix and rate, and on every run
+                drive(base, ids, mix.getValue(), rate, warmup, new Random(7));
+                Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+                AtomicInteger errors = new AtomicInteger();
+                long elapsed = drive(base, ids, mix.getValue(), rate, duration, new Random(42), histograms, errors);
+
+                Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+                histograms.values().forEach(all::add);
+                double achieved = all.getTotalCount() / (elapsed / 1e9);
+                System.out.printf("%-16s %6d %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", mix.getKey(), rate,
+                        all.getTotalCount(), errors.get(), achieved, millis(all, 50), millis(all, 99),
+                        millis(all, 99.9), all.getMaxValue() / 1000.0);
+
+                Map<String, Object> run = new LinkedHashMap<>();
+                run.put("mix", mix.getKey());
+                run.put("weights", weights(mix.getValue()));
+                run.put("rate", rate);
+                run.put("durationSeconds", duration.toSeconds());
+                run.put("errors", errors.get());
+                run.put("achievedRate", Math.round(achieved * 10) / 10.0);
+                run.put("all", percentiles(all));
+                Map<String, Object> endpoints = new LinkedHashMap<>();
+                histograms.forEach((endpoint, histogram) -> {
+                    endpoints.put(endpoint.key(), percentiles(histogram));
+                    distributions.put(mix.getKey() + "-" + rate + "rps-" + endpoint.key(), histogram);
+                });
+                run.put("endpoints", endpoints);
+                runs.add(run);
+                distributions.put(mix.getKey() + "-" + rate + "rps-all", all);
+            }
+        }
+        writeReport(base, ids.size(), runs, distributions);
+    }
+
+    private void drive(String base, List<Long> ids, Map<Endpoint, Integer> mix, int rate, Duration length,
+                       Random random) throws InterruptedException {
+        drive(base, ids, mix, rate, length, random, new EnumMap<>(Endpoint.class), new AtomicInteger());
+    }
+
+    /**
+     * Issues requests at {@code rate} per second for {@code length} and waits
+     * for the stragglers. Returns the nanoseconds from the first scheduled
+     * request to the last response.
+     */
+    private long drive(String base, List<Long> ids, Map<Endpoint, Integer> mix, int rate, Duration length,
+                       Random random, Map<Endpoint, Histogram> histograms, AtomicInteger errors)
+            throws InterruptedException {
+        for (Endpoint endpoint : mix.keySet()) {
+            histograms.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+        }
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long requests = length.toNanos() / interval;
+        AtomicInteger outstanding = new AtomicInteger();
+        for (long n = 0; n < requests; n++) {
+            long scheduled = start + n * interval;
+            for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick(mix, total, random);
+            Histogram histogram = histograms.get(endpoint);
+            HttpRequest request = HttpRequest.newBuilder(uri(base, endpoint, ids, random))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            outstanding.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long micros = (System.nanoTime() - scheduled) / 1000;
+                histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                if (error != null || response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+                outstanding.decrementAndGet();
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Endpoint pick(Map<Endpoint, Integer> mix, int total, Random random) {
+        int ticket = random.nextInt(total);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private static URI uri(String base, Endpoint endpoint, List<Long> ids, Random random) {
+        switch (endpoint) {
+            case DETAIL:
+                return URI.create(base + "/api/products/" + ids.get(random.nextInt(ids.size())));
+            case CATEGORY:
+                return URI.create(base + "/api/products?category=" + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            case CATEGORIES:
+                return URI.create(base + "/api/products/categories");
+            default:
+                return URI.create(base + "/api/products");
+        }
+    }
+
+    // "name=endpoint:weight,...;name=..." with endpoints detail, list, category and categories
+    static Map<String, Map<Endpoint, Integer>> parseMixes(String spec) {
+        Map<String, Map<Endpoint, Integer>> result = new LinkedHashMap<>();
+        for (String mix : spec.split(";")) {
+            if (mix.isBlank()) {
+                continue;
+            }
+            String[] nameAndWeights = mix.split("=", 2);
+            if (nameAndWeights.length != 2) {
+                throw new IllegalArgumentException("Mix must be name=endpoint:weight,...: " + mix);
+            }
+            Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+            for (String part : nameAndWeights[1].split(",")) {
+                String[] kv = part.trim().split(":");
+                int weight = Integer.parseInt(kv[1].trim());
+                if (weight > 0) {
+                    weights.put(Endpoint.valueOf(kv[0].trim().toUpperCase()), weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("Mix " + nameAndWeights[0] + " has no endpoints");
+            }
+            result.put(nameAndWeights[0].trim(), weights);
+        }
+        return result;
+    }
+
+    private void awaitReady(String base) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (get(base + "/actuator/health/readiness").statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException(base + " did not become ready");
+    }
+
+    private HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void writeReport(String base, int products, List<Map<String, Object>> runs,
+                             Map<String, Histogram> distributions) throws IOException {
+        String name = label.isBlank() ? LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) : label;
+        Path dir = reportDir.resolve(name);
+        Files.createDirectories(dir);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", name);
+        summary.put("baseUrl", base);
+        summary.put("products", products);
+        summary.put("warmupSeconds", warmup.toSeconds());
+        summary.put("runs", runs);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(), summary);
+        for (Map.Entry<String, Histogram> entry : distributions.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey() + ".hgrm")))) {
+                // Recorded in microseconds, reported in milliseconds
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Load test report written to " + dir.toAbsolutePath());
+    }
+
+    private static Map<String, Integer> weights(Map<Endpoint, Integer> mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((endpoint, weight) -> weights.put(endpoint.key(), weight));
+        return weights;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", histogram.getTotalCount());
+        result.put("meanMs", Math.round(histogram.getMean()) / 1000.0);
+        result.put("p50Ms", millis(histogram, 50));
+        result.put("p90Ms", millis(histogram, 90));
+        result.put("p99Ms", millis(histogram, 99));
+        result.put("p999Ms", millis(histogram, 99.9));
+        result.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return result;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
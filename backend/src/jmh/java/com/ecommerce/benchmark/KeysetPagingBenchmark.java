@@ -0,0 +1,138 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.ProductCursor;
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares page 1 and page 1000 latency for keyset vs offset paging on a seeded
+ * products table, and entity vs summary listings including JSON serialization.
+ * Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark -Dspring-boot.run.jvmArguments=-Xmx3g
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "keyset", matchIfMissing = true)
+public class KeysetPagingBenchmark implements CommandLineRunner {
+
+    private static final int PAGE_SIZE = 24;
+    private static final int DEEP_PAGE = 1000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    @Override
+    public void run(String... args) throws Exception {
+        seed(rows);
+        ProductQuery all = new ProductQuery();
+
+        for (ProductSort sort : ProductSort.values()) {
+            // Locate the cursor for the start of the deep page once, outside the timed loop
+            List<ProductSummary> beforeDeep = productRepository.findSummaries(ProductSpecifications.matching(all),
+                    sort.toSort(), (long) (DEEP_PAGE - 2) * PAGE_SIZE, PAGE_SIZE);
+            ProductCursor deepCursor = ProductCursor.after(sort, beforeDeep.get(beforeDeep.size() - 1));
+
+            report(sort + " keyset page 1",
+                    () -> productRepository.findPageAfter(all, sort, null, PAGE_SIZE + 1));
+            report(sort + " keyset page " + DEEP_PAGE,
+                    () -> productRepository.findPageAfter(all, sort, deepCursor, PAGE_SIZE + 1));
+            report(sort + " offset page 1", () -> productRepository
+                    .findAll(ProductSpecifications.matching(all), PageRequest.of(0, PAGE_SIZE, sort.toSort())));
+            report(sort + " offset page " + DEEP_PAGE, () -> productRepository
+                    .findAll(ProductSpecifications.matching(all), PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE, sort.toSort())));
+        }
+
+        PageRequest listing = PageRequest.of(0, 1000, ProductSort.ID.toSort());
+        report("1000 entities to JSON", () -> serialize(productRepository.findAll(listing).getContent()));
+        report("1000 summaries to JSON", () -> serialize(productRepository.findSummaries(null,
+                ProductSort.ID.toSort(), 0, 1000)));
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void seed(int count) {
+        long start = System.nanoTime();
+        jdbcTemplate.execute("DELETE FROM products");
+        String[] categories = {"MEN", "WOMEN", "KIDS"};
+        String[] sizes = {"S", "M", "L", "XL", "XXL"};
+        String[] colors = {"Black", "White", "Blue", "Red", "Gray", "Navy"};
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{
+                    i + 1L,
+                    "Product " + i,
+                    "Synthetic benchmark product " + i,
+                    BigDecimal.valueOf(999 + random.nextInt(19_000), 2),
+                    categories[i % categories.length],
+                    "https://example.com/" + i + ".jpg",
+                    sizes[random.nextInt(sizes.length)],
+                    colors[random.nextInt(colors.length)],
+                    random.nextInt(100)});
+            if (batch.size() == 10_000 || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, category, image_url, size, color, stock, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        System.out.println("Seeded " + count + " products in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void report(String label, Runnable query) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            query.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-32s p50=%8.3f ms  p99=%8.3f ms%n", label,
+                samples[ITERATIONS / 2] / 1e6, samples[ITERATIONS * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.ImportReport;
+import com.ecommerce.service.ProductImportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Writes a synthetic CSV and JSON feed of {@code benchmark.rows} products to
+ * temporary files and imports each through {@link ProductImportService},
+ * reporting rows per second. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments="--benchmark.name=import --benchmark.import.batch-size=1000" \
+ *     -Dspring-boot.run.jvmArguments=-Xmx3g
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "import")
+public class ProductImportBenchmark implements CommandLineRunner {
+
+    private static final String[] CATEGORIES = {"MEN", "WOMEN", "KIDS"};
+    private static final String[] SIZES = {"S", "M", "L", "XL", "XXL"};
+    private static final String[] COLORS = {"Black", "White", "Blue", "Red", "Gray", "Navy"};
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    @Value("${benchmark.import.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path csv = Files.createTempFile("products", ".csv");
+        Path json = Files.createTempFile("products", ".json");
+        try {
+            writeCsv(csv, rows);
+            writeJson(json, rows);
+            System.out.printf("Feeds: %d rows, CSV %d MB, JSON %d MB, batch size %d%n", rows,
+                    Files.size(csv) >> 20, Files.size(json) >> 20, batchSize);
+            run("csv", csv);
+            run("json", json);
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(json);
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void run(String format, Path feed) throws Exception {
+        jdbcTemplate.execute("DELETE FROM product_images");
+        jdbcTemplate.execute("DELETE FROM products");
+        ImportReport report;
+        try (InputStream in = Files.newInputStream(feed)) {
+            report = productImportService.importFeed(in, format, batchSize);
+        }
+        System.out.printf("%-4s import: %d rows in %d ms = %d rows/s (%d batches, %d rejected)%n", format,
+                report.getImported(), report.getMillis(), report.getRowsPerSecond(), report.getBatches(),
+                report.getRejected());
+    }
+
+    private void writeCsv(Path path, int count) throws Exception {
+        Random random = new Random(42);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("name,description,price,category,imageUrls,size,color,stock\n");
+            for (int i = 0; i < count; i++) {
+                out.write("Product " + i + ",\"Synthetic import product " + i + ", benchmark feed\","
+                        + price(random) + "," + CATEGORIES[i % CATEGORIES.length] + ",\"" + images(i) + "\","
+                        + SIZES[random.nextInt(SIZES.length)] + "," + COLORS[random.nextInt(COLORS.length)] + ","
+                        + random.nextInt(100) + "\n");
+            }
+        }
+    }
+
+    private void writeJson(Path path, int count) throws Exception {
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(path);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < count; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("name", "Product " + i);
+                generator.writeStringField("description", "Synthetic import product " + i + ", benchmark feed");
+                generator.writeNumberField("price", price(random));
+                generator.writeStringField("category", CATEGORIES[i % CATEGORIES.length]);
+                generator.writeStringField("imageUrls", images(i));
+                generator.writeStringField("size", SIZES[random.nextInt(SIZES.length)]);
+                generator.writeStringField("color", COLORS[random.nextInt(COLORS.length)]);
+                generator.writeNumberField("stock", random.nextInt(100));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static BigDecimal price(Random random) {
+        return BigDecimal.valueOf(999 + random.nextInt(19_000), 2);
+    }
+
+    private static String images(int i) {
+        return "https://example.com/" + i + "-1.jpg,https://example.com/" + i + "-2.jpg";
+    }
+}
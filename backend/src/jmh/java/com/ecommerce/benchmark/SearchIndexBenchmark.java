@@ -0,0 +1,147 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.search.FacetIndex;
+import com.ecommerce.search.InvertedIndex;
+import com.ecommerce.search.SuggestionIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures build time, query latency and incremental update latency of the
+ * in-memory search, suggestion and facet indexes on a synthetic catalog. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments=--benchmark.name=search -Dspring-boot.run.jvmArguments=-Xmx3g
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "search")
+public class SearchIndexBenchmark implements CommandLineRunner {
+
+    private static final String[] ADJECTIVES = {"Classic", "Slim", "Relaxed", "Vintage", "Premium", "Organic",
+            "Oversized", "Cropped", "Lightweight", "Quilted", "Striped", "Floral", "Knit", "Denim", "Linen"};
+    private static final String[] ITEMS = {"T-Shirt", "Jeans", "Jacket", "Sweater", "Dress", "Skirt", "Hoodie",
+            "Shorts", "Blazer", "Cardigan", "Leggings", "Coat", "Blouse", "Polo", "Joggers", "Shirt"};
+    private static final String[] COLORS = {"Black", "White", "Blue", "Red", "Gray", "Navy", "Beige", "Green"};
+    private static final String[] PHRASES = {"premium cotton", "perfect for summer", "soft and comfortable",
+            "modern fit", "durable fabric", "everyday wear", "stretch fabric", "warm and cozy", "breathable",
+            "machine washable", "tailored cut", "recycled materials", "water resistant", "layering piece"};
+    private static final String[] PREFIXES = {"s", "sl", "slim bl", "jea", "navy", "k", "org"};
+    private static final String[] CATEGORIES = {"MEN", "WOMEN", "KIDS"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    private static final String[] QUERIES = {"slim jeans", "cotton", "shi", "leather jacket black", "summer dress",
+            "warm cozy sweater", "navy blazer tailored", "jo", "recycled", "premium organic linen shirt"};
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Random random = new Random(42);
+        InvertedIndex index = new InvertedIndex();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            index.upsert(i + 1, name(random), description(random));
+        }
+        System.out.printf("Indexed %d products in %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+
+        for (String query : QUERIES) {
+            report("search \"" + query + "\"", 2_000, () -> index.search(query, 20));
+        }
+        report("update (remove + upsert)", 20_000,
+                () -> index.upsert(1 + random.nextInt(rows), name(random), description(random)));
+
+        SuggestionIndex suggestions = new SuggestionIndex();
+        start = System.nanoTime();
+        suggestions.clear();
+        for (int i = 0; i < rows; i++) {
+            // A numbered model suffix keeps most names distinct, like a real catalog
+            suggestions.upsert(i + 1, name(random) + " " + random.nextInt(rows / 10 + 1),
+                    COLORS[random.nextInt(COLORS.length)], CATEGORIES[i % CATEGORIES.length], random.nextInt(100));
+        }
+        suggestions.compact();
+        System.out.printf("Built %d suggestion keys in %d ms%n", suggestions.keyCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        for (String prefix : PREFIXES) {
+            report("suggest \"" + prefix + "\"", 20_000, () -> suggestions.suggest(prefix, 8));
+        }
+        report("suggest update (stock change)", 20_000, () -> {
+            int id = 1 + random.nextInt(rows);
+            suggestions.upsert(id, name(random) + " " + id, COLORS[random.nextInt(COLORS.length)],
+                    CATEGORIES[id % CATEGORIES.length], random.nextInt(100));
+        });
+
+        FacetIndex facets = new FacetIndex();
+        start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            facets.upsert(i + 1, CATEGORIES[i % CATEGORIES.length], SIZES[random.nextInt(SIZES.length)],
+                    COLORS[random.nextInt(COLORS.length)], price(random));
+        }
+        facets.optimize();
+        System.out.printf("Built facet bitmaps in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+        report("facets (no selection)", 2_000, () -> facets.query(Map.of()));
+        Map<FacetIndex.Facet, List<String>> selection = new EnumMap<>(FacetIndex.Facet.class);
+        selection.put(FacetIndex.Facet.CATEGORY, List.of("WOMEN"));
+        selection.put(FacetIndex.Facet.SIZE, List.of("S", "M"));
+        selection.put(FacetIndex.Facet.COLOR, List.of("Black", "Navy"));
+        selection.put(FacetIndex.Facet.PRICE, List.of("25-50"));
+        report("facets (4 facets selected)", 2_000, () -> facets.query(selection));
+        report("facet update (remove + upsert)", 20_000, () -> {
+            int id = 1 + random.nextInt(rows);
+            facets.upsert(id, CATEGORIES[id % CATEGORIES.length], SIZES[random.nextInt(SIZES.length)],
+                    COLORS[random.nextInt(COLORS.length)], price(random));
+        });
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private static BigDecimal price(Random random) {
+        return BigDecimal.valueOf(500 + random.nextInt(25_000), 2);
+    }
+
+    private static String name(Random random) {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + COLORS[random.nextInt(COLORS.length)]
+                + " " + ITEMS[random.nextInt(ITEMS.length)];
+    }
+
+    private static String description(Random random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            description.append(PHRASES[random.nextInt(PHRASES.length)]).append(". ");
+        }
+        return description.toString();
+    }
+
+    private static void report(String label, int iterations, Runnable operation) {
+        for (int i = 0; i < iterations / 4; i++) {
+            operation.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-40s p50=%8.3f ms  p99=%8.3f ms%n", label,
+                samples[iterations / 2] / 1e6, samples[iterations * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.benchmark;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Makes the in-memory database behave like a remote one for
+ * {@link AsyncCatalogBenchmark}: every connection checkout holds the pooled
+ * connection for {@code benchmark.async.db-latency} before handing it out, as
+ * a network round trip or a slow query would.
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "async")
+public class SlowDatabase implements BeanPostProcessor {
+
+    private final Duration latency;
+
+    public SlowDatabase(@Value("${benchmark.async.db-latency:PT0.02S}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || latency.isZero()) {
+            return bean;
+        }
+        System.out.println("Adding " + latency.toMillis() + " ms to every database connection checkout");
+        return new DelegatingDataSource((DataSource) bean) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                try {
+                    Thread.sleep(latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return connection;
+            }
+        };
+    }
+}
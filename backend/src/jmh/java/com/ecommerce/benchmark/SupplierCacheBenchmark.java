@@ -0,0 +1,175 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.model.Product;
+import com.ecommerce.supplier.SupplierClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches a feed from a local stub that sends {@code ETag} and
+ * {@code Cache-Control} through {@link SupplierClient} with the response cache
+ * on, and reports what actually crossed the wire per round: a cold fetch, a
+ * revalidation answered with 304, a fetch inside {@code max-age}, a changed
+ * feed, and the supplier failing, then too slow for the deadline. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments="--benchmark.name=supplier-cache --supplier.cache.enabled=true"
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "supplier-cache")
+public class SupplierCacheBenchmark implements CommandLineRunner {
+
+    private static final String SUPPLIER = "cache-benchmark";
+    private static final Duration DEADLINE = Duration.ofSeconds(2);
+
+    @Autowired
+    private SupplierClient supplierClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.suppliers.port:18090}")
+    private int port;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    // What the stub currently serves, and what it has sent so far
+    private volatile int version = 1;
+    private volatile int maxAge;
+    private volatile int status = 200;
+    private volatile int delayMs;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!supplierClient.isCaching()) {
+            System.err.println("Run with --supplier.cache.enabled=true");
+            System.exit(SpringApplication.exit(context, () -> 1));
+            return;
+        }
+        int count = Math.min(rows, 50_000);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/feed", exchange -> feed(exchange, count));
+        server.start();
+        // A path of its own per run, so the first round always starts cold
+        String url = "http://127.0.0.1:" + port + "/feed/" + System.currentTimeMillis();
+        try {
+            System.out.printf("%-22s %8s %7s %9s %5s %12s%n", "round", "products", "ms", "requests", "304s", "bytes");
+            round("cold", url);
+            round("stale, unchanged", url);
+            maxAge = 1;
+            round("stale, now max-age=1", url);
+            round("fresh", url);
+            sleep(1100);
+            maxAge = 0;
+            version = 2;
+            round("changed", url);
+            status = 503;
+            round("supplier down", url);
+            status = 200;
+            delayMs = (int) DEADLINE.toMillis() * 2;
+            round("supplier too slow", url);
+        } finally {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void round(String label, String url) {
+        int requestsBefore = requests.get();
+        int notModifiedBefore = notModified.get();
+        long bytesBefore = bytes.get();
+        long start = System.nanoTime();
+        String result;
+        try {
+            List<Product> products = supplierClient.fetchProducts(SUPPLIER, url, DEADLINE, "products",
+                    JsonNode.class, SupplierCacheBenchmark::toProduct).join();
+            result = Integer.toString(products.size());
+        } catch (RuntimeException e) {
+            result = "failed";
+        }
+        System.out.printf("%-22s %8s %7d %9d %5d %12d%n", label, result, (System.nanoTime() - start) / 1_000_000,
+                requests.get() - requestsBefore, notModified.get() - notModifiedBefore, bytes.get() - bytesBefore);
+    }
+
+    private void feed(HttpExchange exchange, int count) throws IOException {
+        requests.incrementAndGet();
+        sleep(delayMs);
+        if (status != 200) {
+            respond(exchange, status, "unavailable".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String etag = "\"v" + version + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Cache-Control", "max-age=" + maxAge);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        StringBuilder body = new StringBuilder("{\"products\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(i).append(",\"title\":\"Cached product ").append(i)
+                    .append(" v").append(version).append("\",\"price\":").append(10 + i % 90).append(".5}");
+        }
+        respond(exchange, 200, body.append("],\"total\":").append(count).append('}')
+                .toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void respond(HttpExchange exchange, int code, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        bytes.addAndGet(body.length);
+    }
+
+    private static Product toProduct(JsonNode node) {
+        Product product = new Product();
+        product.setName(node.path("title").asText());
+        product.setPrice(new BigDecimal(node.path("price").asText("0")));
+        return product;
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.model.Product;
+import com.ecommerce.service.FakeStoreService;
+import com.ecommerce.supplier.SupplierClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves both supplier APIs from a local server with artificial latency and
+ * failures, and times {@link FakeStoreService#fetchAndTransformProducts} against
+ * the sum of the per-source latencies a sequential fetch would pay. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments=--benchmark.name=suppliers
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "suppliers")
+public class SupplierFetchBenchmark implements CommandLineRunner {
+
+    private static final int CATEGORY_DELAY_MS = 800;
+    private static final int CATALOG_DELAY_MS = 500;
+    private static final int FAKESTORE_DELAY_MS = 1500;
+
+    @Autowired
+    private FakeStoreService fakeStoreService;
+
+    @Autowired
+    private SupplierClient supplierClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.suppliers.port:18090}")
+    private int port;
+
+    // FakeStore answers 503 to this many requests before recovering
+    private final AtomicInteger fakeStoreFailures = new AtomicInteger();
+
+    @Override
+    public void run(String... args) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/dummyjson/products", this::dummyJson);
+        server.createContext("/fakestore/products", this::fakeStore);
+        server.start();
+        try {
+            System.out.printf("Sequential fetch would take at least %d ms%n",
+                    3 * CATEGORY_DELAY_MS + CATALOG_DELAY_MS + FAKESTORE_DELAY_MS);
+            fetch("healthy", 0);
+            fetch("fakestore flaky", 1);
+            for (int i = 1; i <= 3; i++) {
+                fetch("fakestore down #" + i, Integer.MAX_VALUE);
+            }
+        } finally {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void fetch(String label, int failures) {
+        fakeStoreFailures.set(failures);
+        long start = System.nanoTime();
+        List<Product> products = fakeStoreService.fetchAndTransformProducts();
+        System.out.printf("%-20s %3d products in %5d ms, fakestore circuit %s%n", label, products.size(),
+                (System.nanoTime() - start) / 1_000_000, supplierClient.circuitState(FakeStoreService.FAKESTORE));
+    }
+
+    private void dummyJson(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        boolean category = path.contains("/category/");
+        sleep(category ? CATEGORY_DELAY_MS : CATALOG_DELAY_MS);
+        String name = category ? path.substring(path.lastIndexOf('/') + 1) : "tops";
+        StringBuilder body = new StringBuilder("{\"products\":[");
+        for (int i = 0; i < 6; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(i).append(",\"title\":\"").append(name).append(' ').append(i)
+                    .append("\",\"description\":\"Benchmark product\",\"price\":19.99,\"stock\":10,\"category\":\"")
+                    .append(name).append("\",\"images\":[\"https://cdn.example.com/").append(i).append(".jpg\"]}");
+        }
+        respond(exchange, 200, body.append("],\"total\":6}").toString());
+    }
+
+    private void fakeStore(HttpExchange exchange) throws IOException {
+        sleep(FAKESTORE_DELAY_MS / (fakeStoreFailures.get() > 0 ? 5 : 1));
+        if (fakeStoreFailures.getAndUpdate(n -> n > 0 && n < Integer.MAX_VALUE ? n - 1 : n) > 0) {
+            respond(exchange, 503, "unavailable");
+            return;
+        }
+        respond(exchange, 200, "[{\"id\":1,\"title\":\"Benchmark Jacket\",\"price\":59.5,"
+                + "\"description\":\"Benchmark product\",\"category\":\"men's clothing\",\"image\":\"https://cdn.example.com/j.jpg\"}]");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.DummyJsonProduct;
+import com.ecommerce.dto.DummyJsonResponse;
+import com.ecommerce.dto.ImportReport;
+import com.ecommerce.importer.JsonArraySource;
+import com.ecommerce.importer.ProductSource;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.FakeStoreService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Serves a synthetic DummyJSON feed of {@code benchmark.rows} products from a
+ * local HTTP server and compares peak heap for parsing it as a whole-body string
+ * against streaming it, then times the streaming ingest into the database. Run with:
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.profiles=benchmark \
+ *     -Dspring-boot.run.arguments="--benchmark.name=ingest --benchmark.rows=200000" \
+ *     -Dspring-boot.run.jvmArguments=-Xmx1g
+ * </pre>
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.name", havingValue = "ingest")
+public class SupplierIngestBenchmark implements CommandLineRunner {
+
+    private static final String[] CATEGORIES = {"mens-shirts", "womens-dresses", "tops", "mens-shoes"};
+
+    @Autowired
+    private FakeStoreService fakeStoreService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${benchmark.rows:1000000}")
+    private int rows;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path feed = Files.createTempFile("dummyjson", ".json");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        try {
+            writeFeed(feed, rows);
+            server.createContext("/products", exchange -> {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, Files.size(feed));
+                try (OutputStream out = exchange.getResponseBody()) {
+                    Files.copy(feed, out);
+                }
+            });
+            server.start();
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/products";
+            System.out.printf("Feed: %d products, %d MB%n", rows, Files.size(feed) >> 20);
+
+            measure("whole-body parse", () -> {
+                HttpResponse<String> response = HttpClient.newHttpClient().send(request(url),
+                        HttpResponse.BodyHandlers.ofString());
+                return objectMapper.readValue(response.body(), DummyJsonResponse.class).getProducts().size();
+            });
+            measure("streaming parse", () -> {
+                HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request(url),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                int count = 0;
+                try (ProductSource source = new JsonArraySource<>(response.body(), objectMapper, "products",
+                        DummyJsonProduct.class, p -> new Product(p.getTitle(), p.getDescription(),
+                                BigDecimal.valueOf(p.getPrice()), "MEN", null, "M", "Black", p.getStock()))) {
+                    while (source.next(error -> {}) != null) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            measure("streaming ingest", () -> {
+                ImportReport report = fakeStoreService.ingestDummyJson(url);
+                System.out.printf("  %d imported at %d rows/s%n", report.getImported(), report.getRowsPerSecond());
+                return (int) report.getImported();
+            });
+        } finally {
+            server.stop(0);
+            Files.deleteIfExists(feed);
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private interface Phase {
+        int run() throws Exception;
+    }
+
+    private static void measure(String label, Phase phase) {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            outcome = phase.run() + " products";
+        } catch (OutOfMemoryError e) {
+            outcome = "OutOfMemoryError";
+        } catch (Exception e) {
+            outcome = "failed: " + e;
+        }
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%-18s %s in %d ms, peak heap %d MB%n", label, outcome,
+                (System.nanoTime() - start) / 1_000_000, peak >> 20);
+    }
+
+    private static HttpRequest request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private void writeFeed(Path path, int count) throws Exception {
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(path);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("products");
+            for (int i = 0; i < count; i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", i + 1);
+                generator.writeStringField("title", "Supplier Product " + i);
+                generator.writeStringField("description", "Synthetic supplier product " + i
+                        + " with a description long enough to resemble a real feed entry.");
+                generator.writeNumberField("price", (999 + random.nextInt(19_000)) / 100.0);
+                generator.writeNumberField("rating", random.nextInt(500) / 100.0);
+                generator.writeNumberField("stock", random.nextInt(100));
+                generator.writeStringField("brand", "Brand " + (i % 50));
+                generator.writeStringField("category", CATEGORIES[i % CATEGORIES.length]);
+                generator.writeStringField("thumbnail", "https://cdn.example.com/" + i + "/thumb.jpg");
+                generator.writeArrayFieldStart("images");
+                for (int image = 1; image <= 3; image++) {
+                    generator.writeString("https://cdn.example.com/" + i + "/" + image + ".jpg");
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("total", count);
+            generator.writeEndObject();
+        }
+    }
+}
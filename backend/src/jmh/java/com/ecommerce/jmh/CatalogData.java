@@ -0,0 +1,144 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.dto.DummyJsonProduct;
+import com.ecommerce.dto.FakeStoreProduct;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic catalogs for the benchmarks. Every generator starts from the same
+ * seed, so a given size produces the same products on every run and every
+ * release, and results stay comparable.
+ */
+public final class CatalogData {
+
+    public static final long SEED = 42;
+
+    private static final String[] CATEGORIES = {"MEN", "WOMEN", "KIDS"};
+    private static final String[] SIZES = {"S", "M", "L", "XL", "XXL"};
+    private static final String[] COLORS = {"Black", "White", "Blue", "Red", "Gray", "Navy"};
+    private static final String[] NOUNS = {"Shirt", "Jeans", "Jacket", "Dress", "Hoodie", "Sneakers", "Skirt", "Coat"};
+    private static final String[] SUPPLIER_CATEGORIES = {"mens-shirts", "womens-dresses", "mens-shoes",
+            "womens-bags", "tops", "mens-watches", "smartphones", "groceries"};
+    private static final String[] FAKESTORE_CATEGORIES = {"men's clothing", "women's clothing", "jewelery", "electronics"};
+
+    private CatalogData() {}
+
+    /**
+     * {@code count} products with ids 1..count and one to four gallery images.
+     */
+    public static List<Product> products(int count) {
+        Random random = new Random(SEED);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            Product product = new Product(
+                    COLORS[i % COLORS.length] + " " + noun + " " + i,
+                    "Synthetic " + noun.toLowerCase() + " number " + i + " for benchmarking the catalog.",
+                    price(random),
+                    CATEGORIES[i % CATEGORIES.length],
+                    imageUrls(i, 1 + random.nextInt(4)),
+                    SIZES[random.nextInt(SIZES.length)],
+                    COLORS[random.nextInt(COLORS.length)],
+                    random.nextInt(100));
+            product.setId(i + 1L);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static List<ProductSummary> summaries(List<Product> products) {
+        List<ProductSummary> summaries = new ArrayList<>(products.size());
+        for (Product p : products) {
+            summaries.add(new ProductSummary(p.getId(), p.getName(), p.getDescription(), p.getPrice(),
+                    p.getCategory(), p.getImageUrl(), p.getSize(), p.getColor(), p.getStock()));
+        }
+        return summaries;
+    }
+
+    /**
+     * Replaces the products table with {@link #products(int)}, primary image only,
+     * through JDBC batches so no entity events fire.
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.execute("DELETE FROM product_images");
+        jdbcTemplate.execute("DELETE FROM products");
+        List<Object[]> batch = new ArrayList<>(10_000);
+        List<Product> products = products(count);
+        for (int i = 0; i < count; i++) {
+            Product p = products.get(i);
+            batch.add(new Object[]{p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getCategory(),
+                    p.getImageUrl(), p.getSize(), p.getColor(), p.getStock()});
+            if (batch.size() == 10_000 || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, category, image_url, size, color, stock, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * DummyJSON catalog entries, a mix of apparel and categories the transform
+     * drops, with and without images and stock.
+     */
+    public static List<DummyJsonProduct> dummyJsonProducts(int count) {
+        Random random = new Random(SEED);
+        List<DummyJsonProduct> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DummyJsonProduct p = new DummyJsonProduct();
+            p.setId(i + 1L);
+            p.setTitle(NOUNS[random.nextInt(NOUNS.length)] + " " + i);
+            p.setDescription(i % 10 == 0 ? null : "Supplier description of product " + i + ".");
+            p.setPrice(5 + random.nextInt(20_000) / 100.0);
+            p.setStock(i % 4 == 0 ? null : random.nextInt(200));
+            p.setCategory(SUPPLIER_CATEGORIES[i % SUPPLIER_CATEGORIES.length]);
+            p.setThumbnail("https://cdn.dummyjson.com/products/" + i + "/thumbnail.jpg");
+            if (i % 3 != 0) {
+                List<String> images = new ArrayList<>();
+                for (int n = 1 + random.nextInt(6); n > 0; n--) {
+                    images.add("https://cdn.dummyjson.com/products/" + i + "/" + n + ".jpg");
+                }
+                p.setImages(images);
+            }
+            products.add(p);
+        }
+        return products;
+    }
+
+    public static List<FakeStoreProduct> fakeStoreProducts(int count) {
+        Random random = new Random(SEED);
+        List<FakeStoreProduct> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FakeStoreProduct p = new FakeStoreProduct();
+            p.setId(i + 1L);
+            p.setTitle(NOUNS[random.nextInt(NOUNS.length)] + " " + i);
+            p.setDescription("Fake store description of product " + i + ".");
+            p.setPrice(5 + random.nextInt(20_000) / 100.0);
+            p.setCategory(FAKESTORE_CATEGORIES[i % FAKESTORE_CATEGORIES.length]);
+            p.setImage(i % 5 == 0 ? null : "https://fakestoreapi.com/img/" + i + ".jpg");
+            products.add(p);
+        }
+        return products;
+    }
+
+    private static BigDecimal price(Random random) {
+        return BigDecimal.valueOf(999 + random.nextInt(19_000), 2);
+    }
+
+    private static String imageUrls(int product, int images) {
+        StringBuilder urls = new StringBuilder();
+        for (int n = 0; n < images; n++) {
+            if (n > 0) {
+                urls.append(',');
+            }
+            urls.append("https://images.example.com/products/").append(product).append('/').append(n).append(".jpg");
+        }
+        return urls.toString();
+    }
+}
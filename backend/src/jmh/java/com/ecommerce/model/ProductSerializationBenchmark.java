@@ -0,0 +1,70 @@
+package com.ecommerce.model;
+
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.jmh.CatalogData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of product lists the size of a page and of a full
+ * category, with the object mapper configured as Spring MVC configures it,
+ * plus {@link Product#getImageUrl()} over the same list. Entities here have
+ * their gallery loaded, as on the detail endpoint; summaries are what the
+ * listing endpoints write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductSerializationBenchmark {
+
+    @Param({"24", "1000", "10000"})
+    private int size;
+
+    private List<Product> products;
+    private List<ProductSummary> summaries;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        products = CatalogData.products(size);
+        summaries = CatalogData.summaries(products);
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws Exception {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws Exception {
+        return writer.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public void imageUrls(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(product.getImageUrl());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.EcommerceApplication;
+import com.ecommerce.jmh.CatalogData;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.CatalogWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductRepository} reads against an in-memory H2 catalog of
+ * {@code rows} products. Each fork starts the application without a web
+ * server under the benchmark profile and seeds the table once per trial.
+ * Full-table reads take seconds at a million rows, so iterations are few and
+ * long.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:+UseG1GC"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductRepositoryBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private final long[] ids = new long[LOOKUPS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(EcommerceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run("--benchmark.name=jmh", "--catalog.snapshot.enabled=false",
+                        // JMH exits the fork before the trial's context is closed
+                        "--spring.datasource.url=jdbc:h2:mem:ecommerce;DB_CLOSE_ON_EXIT=FALSE");
+        // Let the startup warm-up finish on the empty catalog so it does not run during measurement
+        CatalogWarmup warmup = context.getBean(CatalogWarmup.class);
+        while (warmup.getStatus() == CatalogWarmup.Status.STARTING || warmup.getStatus() == CatalogWarmup.Status.WARMING) {
+            Thread.sleep(10);
+        }
+        CatalogData.seed(context.getBean(JdbcTemplate.class), rows);
+        productRepository = context.getBean(ProductRepository.class);
+
+        Random random = new Random(CatalogData.SEED);
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = 1 + random.nextInt(rows);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> findAll() {
+        return productRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Product> findByCategory() {
+        return productRepository.findByCategory("WOMEN");
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return productRepository.findById(ids[next++ & (LOOKUPS - 1)]);
+    }
+}
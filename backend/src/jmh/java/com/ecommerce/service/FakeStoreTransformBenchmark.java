@@ -0,0 +1,67 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.DummyJsonProduct;
+import com.ecommerce.dto.FakeStoreProduct;
+import com.ecommerce.jmh.CatalogData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supplier-to-{@code Product} transforms of {@link FakeStoreService}, per batch
+ * of {@value #BATCH} supplier products. No HTTP is involved; the service is
+ * constructed directly and only its transforms are called.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FakeStoreTransformBenchmark {
+
+    static final int BATCH = 1000;
+
+    private FakeStoreService service;
+    private List<DummyJsonProduct> dummyJson;
+    private List<FakeStoreProduct> fakeStore;
+
+    @Setup
+    public void setUp() {
+        service = new FakeStoreService();
+        dummyJson = CatalogData.dummyJsonProducts(BATCH);
+        fakeStore = CatalogData.fakeStoreProducts(BATCH);
+    }
+
+    @Benchmark
+    public void transformDummyJsonToProduct(Blackhole blackhole) {
+        for (int i = 0; i < dummyJson.size(); i++) {
+            blackhole.consume(service.transformDummyJsonToProduct(dummyJson.get(i), i % 3 == 2 ? "KIDS" : "WOMEN"));
+        }
+    }
+
+    @Benchmark
+    public void transformDummyJsonCatalogProduct(Blackhole blackhole) {
+        for (DummyJsonProduct product : dummyJson) {
+            blackhole.consume(service.transformDummyJsonCatalogProduct(product));
+        }
+    }
+
+    @Benchmark
+    public void transformFakeStoreToProduct(Blackhole blackhole) {
+        for (FakeStoreProduct product : fakeStore) {
+            blackhole.consume(service.transformFakeStoreToProduct(product));
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.ecommerce.columnar;
+
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only product catalog served straight from a memory-mapped file. Every
+ * column is a fixed-width array in the file: ids, prices in cents and stock as
+ * numbers, and category, size and color as 16-bit codes into small
+ * dictionaries. Names, descriptions and image URLs sit in a UTF-8 heap indexed
+ * by per-column offset arrays. Opening the file maps it and decodes only the
+ * dictionaries; filters compare the mapped columns in place, and a
+ * {@link ProductSummary} is built only for rows that are actually returned.
+ *
+ * <p>The heap footprint is independent of the catalog size, apart from a
+ * price-ordered row permutation built the first time a listing is sorted by
+ * price; the pages of the file are shared with the OS page cache and every
+ * other process mapping it. Instances are immutable and safe to share between
+ * threads.
+ *
+ * <p>Layout, little-endian, sections 8-byte aligned:
+ * <pre>
+ * header   magic, version, count, reserved, revision, createdAt,
+ *          source rows, source modified, section offsets
+ * ids      long[count], ascending
+ * prices   long[count], cents
+ * stock    int[count]
+ * category short[count]; size short[count]; color short[count] (0 = null)
+ * offsets  int[count + 1] per string column (name, description, imageUrl)
+ * heap     UTF-8 bytes
+ * dicts    per dictionary: int n, then n times (int length, bytes)
+ * </pre>
+ */
+public final class ColumnarCatalog {
+
+    static final int MAGIC = 0x50414E43; // "CNAP"
+    static final int VERSION = 2;
+    static final int SECTIONS = 9;
+    static final int HEADER_BYTES = 48 + 8 * SECTIONS;
+
+    static final int STRING_COLUMNS = 3;
+    static final int NAME = 0;
+    static final int DESCRIPTION = 1;
+    static final int IMAGE_URL = 2;
+    static final int NULL_FLAG = 0x80000000;
+
+    private static final int IDS = 0;
+    private static final int PRICES = 1;
+    private static final int STOCK = 2;
+    private static final int CATEGORIES = 3;
+    private static final int SIZES = 4;
+    private static final int COLORS = 5;
+    private static final int STRING_OFFSETS = 6;
+    private static final int HEAP = 7;
+    private static final int DICTIONARIES = 8;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final long revision;
+    private final long createdAt;
+    private final long sourceRows;
+    private final long sourceModified;
+    private final int[] sections = new int[SECTIONS];
+    private final String[] categories;
+    private final String[] sizes;
+    private final String[] colors;
+    private volatile int[] byPrice;
+
+    private ColumnarCatalog(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a columnar catalog");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+        }
+        this.count = buffer.getInt(8);
+        this.revision = buffer.getLong(16);
+        this.createdAt = buffer.getLong(24);
+        this.sourceRows = buffer.getLong(32);
+        this.sourceModified = buffer.getLong(40);
+        for (int s = 0; s < SECTIONS; s++) {
+            long offset = buffer.getLong(48 + 8 * s);
+            if (offset < HEADER_BYTES || offset > buffer.capacity()) {
+                throw new IOException(path + " is truncated or corrupt");
+            }
+            sections[s] = (int) offset;
+        }
+        int position = sections[DICTIONARIES];
+        categories = new String[buffer.getInt(position) + 1];
+        position = readDictionary(position, categories);
+        sizes = new String[buffer.getInt(position) + 1];
+        position = readDictionary(position, sizes);
+        colors = new String[buffer.getInt(position) + 1];
+        readDictionary(position, colors);
+    }
+
+    /**
+     * Maps {@code path} read-only. The mapping stays valid after the file is
+     * replaced by a newer export.
+     */
+    public static ColumnarCatalog open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too large to map");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ColumnarCatalog(path, mapped.order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * {@link com.ecommerce.service.CatalogRevision} at export time.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Rows in {@code products} when the export started; with
+     * {@link #getSourceModified()} it tells whether the table has changed since.
+     */
+    public long getSourceRows() {
+        return sourceRows;
+    }
+
+    /**
+     * Newest {@code products.updated_at} when the export started, in epoch microseconds.
+     */
+    public long getSourceModified() {
+        return sourceModified;
+    }
+
+    public long getBytes() {
+        return buffer.capacity();
+    }
+
+    public long id(int row) {
+        return buffer.getLong(sections[IDS] + 8 * row);
+    }
+
+    public long priceCents(int row) {
+        return buffer.getLong(sections[PRICES] + 8 * row);
+    }
+
+    public int stock(int row) {
+        return buffer.getInt(sections[STOCK] + 4 * row);
+    }
+
+    public String category(int row) {
+        return categories[code(CATEGORIES, row)];
+    }
+
+    public String productSize(int row) {
+        return sizes[code(SIZES, row)];
+    }
+
+    public String color(int row) {
+        return colors[code(COLORS, row)];
+    }
+
+    public String name(int row) {
+        return string(NAME, row);
+    }
+
+    public String description(int row) {
+        return string(DESCRIPTION, row);
+    }
+
+    public String imageUrl(int row) {
+        return string(IMAGE_URL, row);
+    }
+
+    /**
+     * Row of the product with this id, or -1.
+     */
+    public int indexOf(long id) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long value = id(mid);
+            if (value < id) {
+                lo = mid + 1;
+            } else if (value > id) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public ProductSummary summary(int row) {
+        return new ProductSummary(id(row), name(row), description(row), BigDecimal.valueOf(priceCents(row), 2),
+                category(row), imageUrl(row), productSize(row), color(row), stock(row));
+    }
+
+    /**
+     * Rows matching the category, price range, sizes and colors of
+     * {@code query}, in the order of its {@code sort}. Text search is not
+     * supported.
+     */
+    public int[] filter(ProductQuery query) {
+        if (query.getQ() != null && !query.getQ().isBlank()) {
+            throw new IllegalArgumentException("q is not supported on the columnar catalog");
+        }
+        ProductSort sort = ProductSort.fromParam(query.getSort());
+        int[] order = sort == ProductSort.ID ? null : byPrice();
+        int category = -1;
+        if (query.getCategory() != null && !query.getCategory().isBlank()) {
+            category = codeOf(categories, query.getCategory().trim().toUpperCase(Locale.ROOT));
+            if (category < 0) {
+                return new int[0];
+            }
+        }
+        boolean[] sizeCodes = codesOf(sizes, query.getSizes());
+        boolean[] colorCodes = codesOf(colors, query.getColors());
+        long min = query.getMinPrice() != null ? ColumnarCatalogWriter.cents(query.getMinPrice()) : Long.MIN_VALUE;
+        long max = query.getMaxPrice() != null ? ColumnarCatalogWriter.cents(query.getMaxPrice()) : Long.MAX_VALUE;
+
+        int[] rows = new int[Math.min(count, 1024)];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            // Price descending walks the ascending permutation backwards, so ties come in descending id order
+            int row = order == null ? i : order[sort == ProductSort.PRICE_ASC ? i : count - 1 - i];
+            if ((category >= 0 && code(CATEGORIES, row) != category)
+                    || (sizeCodes != null && !sizeCodes[code(SIZES, row)])
+                    || (colorCodes != null && !colorCodes[code(COLORS, row)])) {
+                continue;
+            }
+            long price = priceCents(row);
+            if (price < min || price > max) {
+                continue;
+            }
+            if (found == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[found++] = row;
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    /**
+     * Builds summaries for {@code limit} of {@code rows}, starting at {@code offset}.
+     */
+    public List<ProductSummary> summaries(int[] rows, int offset, int limit) {
+        int end = (int) Math.min(rows.length, (long) offset + limit);
+        List<ProductSummary> result = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            result.add(summary(rows[i]));
+        }
+        return result;
+    }
+
+    // Rows by price, then id; rows are already in id order, so a stable sort on price is enough
+    private int[] byPrice() {
+        int[] order = byPrice;
+        if (order == null) {
+            order = IntStream.range(0, count).boxed()
+                    .sorted(Comparator.comparingLong(this::priceCents))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            byPrice = order;
+        }
+        return order;
+    }
+
+    private int code(int section, int row) {
+        return buffer.getShort(sections[section] + 2 * row);
+    }
+
+    private String string(int column, int row) {
+        int base = sections[STRING_OFFSETS] + 4 * (count + 1) * column;
+        int start = buffer.getInt(base + 4 * row);
+        if ((start & NULL_FLAG) != 0) {
+            return null;
+        }
+        int end = buffer.getInt(base + 4 * (row + 1)) & ~NULL_FLAG;
+        byte[] bytes = new byte[end - start];
+        buffer.get(sections[HEAP] + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readDictionary(int position, String[] values) {
+        position += 4;
+        for (int i = 1; i < values.length; i++) {
+            byte[] bytes = new byte[buffer.getInt(position)];
+            buffer.get(position + 4, bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 4 + bytes.length;
+        }
+        return position;
+    }
+
+    private static int codeOf(String[] dictionary, String value) {
+        for (int i = 1; i < dictionary.length; i++) {
+            if (dictionary[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Null when the list leaves the column unfiltered
+    private static boolean[] codesOf(String[] dictionary, List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        boolean[] codes = new boolean[dictionary.length];
+        boolean any = false;
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            any = true;
+            int code = codeOf(dictionary, value.trim());
+            if (code >= 0) {
+                codes[code] = true;
+            }
+        }
+        return any ? codes : null;
+    }
+}
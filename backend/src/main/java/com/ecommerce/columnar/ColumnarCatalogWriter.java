@@ -0,0 +1,275 @@
+package com.ecommerce.columnar;
+
+import com.ecommerce.dto.ProductSummary;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes products in the {@link ColumnarCatalog} file format. The file is
+ * written next to the target and moved over it atomically, so a node mapping
+ * the old file keeps a consistent view.
+ */
+public final class ColumnarCatalogWriter {
+
+    private ColumnarCatalogWriter() {}
+
+    /**
+     * Writes {@code products} (in id order; sorted here if they are not) and
+     * returns the size of the file in bytes.
+     */
+    public static long write(Path target, List<ProductSummary> products, long revision) throws IOException {
+        return write(target, products, revision, 0, 0);
+    }
+
+    /**
+     * Like {@link #write(Path, List, long)}, recording the row count and newest
+     * {@code updated_at} of the table the products were read from.
+     */
+    public static long write(Path target, List<ProductSummary> products, long revision, long sourceRows,
+                             long sourceModified) throws IOException {
+        List<ProductSummary> rows = new ArrayList<>(products);
+        rows.sort(Comparator.comparing(ProductSummary::getId));
+        int count = rows.size();
+
+        Dictionary categories = new Dictionary();
+        Dictionary sizes = new Dictionary();
+        Dictionary colors = new Dictionary();
+        byte[][][] strings = new byte[ColumnarCatalog.STRING_COLUMNS][count][];
+        long heapBytes = 0;
+        for (int i = 0; i < count; i++) {
+            ProductSummary product = rows.get(i);
+            categories.code(product.getCategory());
+            sizes.code(product.getSize());
+            colors.code(product.getColor());
+            strings[ColumnarCatalog.NAME][i] = utf8(product.getName());
+            strings[ColumnarCatalog.DESCRIPTION][i] = utf8(product.getDescription());
+            strings[ColumnarCatalog.IMAGE_URL][i] = utf8(product.getImageUrl());
+            for (byte[][] column : strings) {
+                heapBytes += column[i] != null ? column[i].length : 0;
+            }
+        }
+
+        // Sections in file order; each starts on an 8-byte boundary
+        long[] offsets = new long[ColumnarCatalog.SECTIONS];
+        long position = ColumnarCatalog.HEADER_BYTES;
+        long[] lengths = {
+                8L * count,                                  // ids
+                8L * count,                                  // prices in cents
+                4L * count,                                  // stock
+                2L * count,                                  // category codes
+                2L * count,                                  // size codes
+                2L * count,                                  // color codes
+                4L * (count + 1) * ColumnarCatalog.STRING_COLUMNS, // string offsets
+                heapBytes,                                   // string heap
+                categories.bytes() + sizes.bytes() + colors.bytes()
+        };
+        for (int s = 0; s < lengths.length; s++) {
+            offsets[s] = position;
+            position = align(position + lengths[s]);
+        }
+        if (position > Integer.MAX_VALUE || heapBytes > Integer.MAX_VALUE) {
+            throw new IOException("Catalog of " + count + " products is too large for a single mapped file");
+        }
+
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "catalog", ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            out.putInt(ColumnarCatalog.MAGIC);
+            out.putInt(ColumnarCatalog.VERSION);
+            out.putInt(count);
+            out.putInt(0);
+            out.putLong(revision);
+            out.putLong(System.currentTimeMillis());
+            out.putLong(sourceRows);
+            out.putLong(sourceModified);
+            for (long offset : offsets) {
+                out.putLong(offset);
+            }
+            out.padTo(offsets[0]);
+
+            for (ProductSummary product : rows) {
+                out.putLong(product.getId());
+            }
+            out.padTo(offsets[1]);
+            for (ProductSummary product : rows) {
+                out.putLong(cents(product.getPrice()));
+            }
+            out.padTo(offsets[2]);
+            for (ProductSummary product : rows) {
+                out.putInt(product.getStock() != null ? product.getStock() : 0);
+            }
+            out.padTo(offsets[3]);
+            for (ProductSummary product : rows) {
+                out.putShort(categories.code(product.getCategory()));
+            }
+            out.padTo(offsets[4]);
+            for (ProductSummary product : rows) {
+                out.putShort(sizes.code(product.getSize()));
+            }
+            out.padTo(offsets[5]);
+            for (ProductSummary product : rows) {
+                out.putShort(colors.code(product.getColor()));
+            }
+            out.padTo(offsets[6]);
+            // Per column, count + 1 start offsets into the heap; the top bit marks a null value
+            int heapPosition = 0;
+            for (byte[][] column : strings) {
+                for (int i = 0; i < count; i++) {
+                    out.putInt(column[i] != null ? heapPosition : heapPosition | ColumnarCatalog.NULL_FLAG);
+                    heapPosition += column[i] != null ? column[i].length : 0;
+                }
+                out.putInt(heapPosition);
+            }
+            out.padTo(offsets[7]);
+            for (byte[][] column : strings) {
+                for (int i = 0; i < count; i++) {
+                    if (column[i] != null) {
+                        out.put(column[i]);
+                    }
+                }
+            }
+            out.padTo(offsets[8]);
+            categories.writeTo(out);
+            sizes.writeTo(out);
+            colors.writeTo(out);
+            out.padTo(position);
+            out.flush();
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return position;
+    }
+
+    static long cents(BigDecimal price) {
+        return price == null ? 0 : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Distinct values of a low-cardinality column, coded by first appearance.
+     * Code 0 is reserved for null.
+     */
+    private static final class Dictionary {
+        private final Map<String, Short> codes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+
+        short code(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Short code = codes.get(value);
+            if (code == null) {
+                if (values.size() >= Short.MAX_VALUE - 1) {
+                    throw new IllegalArgumentException("Too many distinct values for a dictionary column");
+                }
+                code = (short) (values.size() + 1);
+                codes.put(value, code);
+                values.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return code;
+        }
+
+        long bytes() {
+            long bytes = 4;
+            for (byte[] value : values) {
+                bytes += 4 + value.length;
+            }
+            return bytes;
+        }
+
+        void writeTo(Output out) throws IOException {
+            out.putInt(values.size());
+            for (byte[] value : values) {
+                out.putInt(value.length);
+                out.put(value);
+            }
+        }
+    }
+
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        void putShort(short value) throws IOException {
+            ensure(2);
+            buffer.putShort(value);
+            position += 2;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int n = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, n);
+                offset += n;
+                position += n;
+            }
+        }
+
+        void padTo(long target) throws IOException {
+            while (position < target) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
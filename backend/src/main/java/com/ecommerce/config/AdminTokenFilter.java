@@ -0,0 +1,71 @@
+package com.ecommerce.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+
+/**
+ * Guards the bulk catalog writes (imports, supplier sync and the columnar
+ * export): a POST to one of them needs an {@code X-Admin-Token} header equal to
+ * {@code catalog.admin.token}, and gets 403 otherwise. While no token is
+ * configured these endpoints are refused outright.
+ */
+@Component
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    private static final Set<String> ADMIN_PATHS = Set.of(
+            "/api/products/import",
+            "/api/products/import/dummyjson",
+            "/api/products/sync",
+            "/api/products/columnar");
+
+    // Decodes the path and strips ";" parameters the way handler mapping does,
+    // so "/api/products/%73ync" or "/api/products/sync;x=1" cannot slip past
+    private static final UrlPathHelper PATHS = new UrlPathHelper();
+
+    @Value("${catalog.admin.token:}")
+    private String token;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = PATHS.getLookupPathForRequest(request);
+        return !"POST".equals(request.getMethod()) || !ADMIN_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (token.isEmpty()) {
+            forbid(response, "admin endpoints are disabled; set catalog.admin.token");
+            return;
+        }
+        String presented = request.getHeader(HEADER);
+        // Constant-time comparison, so the response time does not leak how much of the token matched
+        if (presented == null || !MessageDigest.isEqual(presented.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            forbid(response, "missing or wrong " + HEADER);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void forbid(HttpServletResponse response, String reason) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + reason + "\"}");
+    }
+}
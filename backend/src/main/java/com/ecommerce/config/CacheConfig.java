@@ -0,0 +1,16 @@
+package com.ecommerce.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Caffeine-backed catalog cache. Cache names, size and TTL are set
+ * through spring.cache.* in application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String CATEGORIES = "categories";
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.config;
+
+import com.ecommerce.service.CatalogWarmup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code catalogWarmup} health contributor, part of the readiness group
+ * ({@code /actuator/health/readiness}): out of service while {@link CatalogWarmup}
+ * runs or retries, down once it has given up, with the phases finished so far.
+ *
+ * <p>Spring Boot marks the application as accepting traffic as soon as it has
+ * started, before the warm-up thread gets going; including this contributor
+ * keeps the readiness probe down until the catalog is actually loaded.
+ */
+@Component
+public class CatalogWarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private CatalogWarmup catalogWarmup;
+
+    @Override
+    public Health health() {
+        Health.Builder health;
+        switch (catalogWarmup.getStatus()) {
+            case READY:
+                health = Health.up();
+                break;
+            case FAILED:
+                health = Health.down();
+                break;
+            default:
+                health = Health.outOfService();
+        }
+        health.withDetail("status", catalogWarmup.getStatus())
+                .withDetail("phases", catalogWarmup.getPhaseMillis());
+        if (catalogWarmup.getAttempt() > 1) {
+            health.withDetail("attempt", catalogWarmup.getAttempt());
+        }
+        if (catalogWarmup.getTotalMillis() > 0) {
+            health.withDetail("totalMillis", catalogWarmup.getTotalMillis());
+        }
+        if (catalogWarmup.getError() != null) {
+            health.withDetail("error", catalogWarmup.getError());
+        }
+        return health.build();
+    }
+}
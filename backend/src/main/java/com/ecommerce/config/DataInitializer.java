@@ -1,64 +1,44 @@
 package com.ecommerce.config;
 
 import com.ecommerce.model.Product;
-import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.service.CatalogSyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Built-in catalog, seeded by {@link com.ecommerce.service.CatalogWarmup} in the
+ * background once the HTTP port is open.
+ */
 @Component
-public class DataInitializer implements CommandLineRunner {
+@Profile("!benchmark")
+public class DataInitializer {
+
+        private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
         @Autowired
-        private ProductRepository productRepository;
-
-        @Override
-        public void run(String... args) throws Exception {
-                // Always clear and reload products to ensure we have all categories
-                productRepository.deleteAll();
-                System.out.println("Initializing products...");
-                
-                // Use only the 6 fallback products per category (no API fetching, no duplicates)
-                loadFallbackProducts();
-
-                // Ensure we have exactly 6 products in each category
-                limitCategoryToMax("MEN", 6);
-                limitCategoryToMax("WOMEN", 6);
-                limitCategoryToMax("KIDS", 6);
-
-                // Check counts after limiting
-                long menCount = productRepository.countByCategory("MEN");
-                long womenCount = productRepository.countByCategory("WOMEN");
-                long kidsCount = productRepository.countByCategory("KIDS");
-
-                System.out.println("After limiting - MEN: " + menCount + ", WOMEN: " + womenCount + ", KIDS: "
-                                + kidsCount);
-
-                System.out.println("Product initialization complete. Total products: " + productRepository.count());
-                System.out.println("Final counts - MEN: " + productRepository.countByCategory("MEN") +
-                                ", WOMEN: " + productRepository.countByCategory("WOMEN") +
-                                ", KIDS: " + productRepository.countByCategory("KIDS"));
-        }
+        private CatalogSyncService catalogSyncService;
 
-        private void limitCategoryToMax(String category, int maxCount) {
-                List<Product> categoryProducts = productRepository.findByCategory(category);
-                if (categoryProducts != null && categoryProducts.size() > maxCount) {
-                        // Keep only the first maxCount products, delete the rest
-                        List<Product> toDelete = new ArrayList<>(
-                                        categoryProducts.subList(maxCount, categoryProducts.size()));
-                        productRepository.deleteAll(toDelete);
-                        System.out.println("✓ Limited " + category + " category to " + maxCount + " products (deleted "
-                                        + toDelete.size() + " excess)");
-                }
+        public void seed() {
+                log.info("Initializing products...");
+
+                // Use only the 6 fallback products per category (no API fetching, no duplicates).
+                // They are synced by name rather than deleted and reloaded, so ids, caches and
+                // stock survive a restart against a persistent database.
+                catalogSyncService.sync(CatalogSyncService.SEED, fallbackProducts());
         }
 
-        private void loadFallbackProducts() {
+        private List<Product> fallbackProducts() {
+                List<Product> products = new ArrayList<>();
+
                 // Men's Clothing
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Classic White T-Shirt",
                                 "Premium cotton t-shirt with modern fit. Perfect for everyday wear.",
                                 new BigDecimal("29.99"),
@@ -68,7 +48,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "White",
                                 50));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Slim Fit Jeans",
                                 "Comfortable slim-fit jeans with stretch fabric. Available in multiple sizes.",
                                 new BigDecimal("79.99"),
@@ -78,7 +58,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Blue",
                                 30));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Leather Jacket",
                                 "Genuine leather jacket with classic design. Perfect for cool weather.",
                                 new BigDecimal("199.99"),
@@ -88,7 +68,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Black",
                                 15));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Casual Coat",
                                 "Versatile Coat suitable for office or casual occasions.",
                                 new BigDecimal("49.99"),
@@ -98,7 +78,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Navy",
                                 40));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Athletic Shorts",
                                 "Breathable athletic shorts perfect for workouts and casual wear.",
                                 new BigDecimal("34.99"),
@@ -108,7 +88,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Gray",
                                 60));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Wool Sweater",
                                 "Warm and cozy wool sweater for winter. Soft and comfortable.",
                                 new BigDecimal("89.99"),
@@ -119,7 +99,7 @@ public class DataInitializer implements CommandLineRunner {
                                 25));
 
                 // Women's Clothing
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Floral Summer Dress",
                                 "Beautiful floral print dress perfect for summer occasions.",
                                 new BigDecimal("59.99"),
@@ -129,7 +109,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Multicolor",
                                 35));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "High-Waisted Jeans",
                                 "Trendy high-waisted jeans with perfect fit. Flattering and comfortable.",
                                 new BigDecimal("69.99"),
@@ -139,7 +119,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Light Blue",
                                 45));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Elegant Blouse",
                                 "Sophisticated blouse with delicate details. Perfect for professional settings.",
                                 new BigDecimal("54.99"),
@@ -149,7 +129,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Cream",
                                 50));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Knit Cardigan",
                                 "Cozy cardigan perfect for layering. Soft and warm.",
                                 new BigDecimal("64.99"),
@@ -159,7 +139,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Beige",
                                 30));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Athletic Leggings",
                                 "High-performance leggings for workouts. Moisture-wicking and comfortable.",
                                 new BigDecimal("44.99"),
@@ -169,7 +149,7 @@ public class DataInitializer implements CommandLineRunner {
                                 "Black",
                                 55));
 
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Maxi Skirt",
                                 "Flowing maxi skirt with elegant design. Perfect for any occasion.",
                                 new BigDecimal("49.99"),
@@ -181,7 +161,7 @@ public class DataInitializer implements CommandLineRunner {
 
                 // Kids Products - with relevant images from Pexels matching each product type
                 // Kids T-Shirt - using kids t-shirt specific images
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Kids T-Shirt",
                                 "Comfortable and durable kids clothing perfect for active play.",
                                 new BigDecimal("19.99"),
@@ -192,7 +172,7 @@ public class DataInitializer implements CommandLineRunner {
                                 50));
 
                 // Children's Jeans - using kids jeans/pants specific images  
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Children's Jeans",
                                 "Soft, safe materials designed specifically for children.",
                                 new BigDecimal("29.99"),
@@ -203,7 +183,7 @@ public class DataInitializer implements CommandLineRunner {
                                 45));
 
                 // Kids Dress - using kids dress specific images
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Kids Shoes",
                                 "Colorful and fun designs that kids love to wear.",
                                 new BigDecimal("34.99"),
@@ -214,7 +194,7 @@ public class DataInitializer implements CommandLineRunner {
                                 40));
 
                 // Kids Hoodie - using kids hoodie/sweatshirt specific images
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "Kids Hoodie",
                                 "High-quality kids apparel with excellent fit and comfort.",
                                 new BigDecimal("39.99"),
@@ -225,7 +205,7 @@ public class DataInitializer implements CommandLineRunner {
                                 35));
 
                 // Baby Onesie - using baby clothing specific images
-                productRepository.save(new Product(
+                products.add(new Product(
                                 "KIds Sweater",
                                 "Safe, non-toxic materials perfect for growing children.",
                                 new BigDecimal("24.99"),
@@ -235,5 +215,9 @@ public class DataInitializer implements CommandLineRunner {
                                 "Yellow",
                                 60));
 
+                for (Product product : products) {
+                        product.setSupplierId(product.getName());
+                }
+                return products;
         }
 }
@@ -0,0 +1,13 @@
+package com.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled jobs such as the stock reservation sweeper. Intervals are
+ * set through application.properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
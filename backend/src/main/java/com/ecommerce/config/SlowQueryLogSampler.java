@@ -0,0 +1,85 @@
+package com.ecommerce.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces per-statement SQL logging. Hibernate logs every statement slower
+ * than {@code hibernate.log_slow_query} milliseconds to
+ * {@code org.hibernate.SQL_SLOW}; this filter lets one in
+ * {@code logging.slow-query.sample-every} of those lines through, and records
+ * every one of them in the {@code db.query.slow} timer, so a burst of slow
+ * queries is visible in the metrics without flooding the log.
+ */
+@Component
+public class SlowQueryLogSampler extends TurboFilter {
+
+    static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+
+    private static final Pattern MILLIS = Pattern.compile("took (\\d+) ?(?:ms|milliseconds)");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${logging.slow-query.sample-every:10}")
+    private int sampleEvery;
+
+    private final AtomicLong seen = new AtomicLong();
+    private Timer slowQueries;
+    private Counter unparsed;
+
+    @PostConstruct
+    public void register() {
+        slowQueries = Timer.builder("db.query.slow")
+                .description("Statements slower than hibernate.log_slow_query")
+                .register(meterRegistry);
+        unparsed = meterRegistry.counter("db.query.slow.unparsed");
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            setName("slow-query-sampler");
+            start();
+            context.addTurboFilter(this);
+        }
+    }
+
+    @PreDestroy
+    public void unregister() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(this);
+        }
+        stop();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // Level checks arrive without a message; only actual slow-query lines are sampled
+        if (format == null || logger == null || !SLOW_QUERY_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Matcher matcher = MILLIS.matcher(format);
+        if (matcher.find()) {
+            slowQueries.record(Long.parseLong(matcher.group(1)), TimeUnit.MILLISECONDS);
+        } else {
+            unparsed.increment();
+        }
+        return seen.getAndIncrement() % Math.max(1, sampleEvery) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
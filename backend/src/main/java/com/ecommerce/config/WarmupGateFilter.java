@@ -0,0 +1,45 @@
+package com.ecommerce.config;
+
+import com.ecommerce.service.CatalogWarmup;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Holds API traffic back while {@link CatalogWarmup} runs: requests under
+ * {@code /api/} get 503 with {@code Retry-After} until the catalog, indexes and
+ * caches are ready. CORS preflights always pass; Actuator, including the
+ * health probes, lives outside {@code /api/} and is never held back.
+ */
+@Component
+public class WarmupGateFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private CatalogWarmup catalogWarmup;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return catalogWarmup.isReady()
+                || !path.startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":\"" + catalogWarmup.getStatus() + "\"}");
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.ProductQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variant of the catalog reads in {@link ProductController},
+ * same parameters and responses under {@code /api/async/products}. Reads that
+ * may reach the database run on a bounded pool of
+ * {@code catalog.async.threads} and complete through async servlet processing,
+ * so a slow database holds pool threads and queued requests, not Tomcat
+ * threads: snapshot listings and the category list, which never block, keep
+ * being served while database reads wait. When
+ * {@code catalog.async.queue-capacity} requests are already waiting the
+ * request is answered at once with 503 and {@code Retry-After}; a request
+ * that waits longer than {@code spring.mvc.async.request-timeout} gets 503
+ * from Spring MVC.
+ */
+@RestController
+@RequestMapping("/api/async/products")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://127.0.0.1:5173"})
+public class AsyncProductController {
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${catalog.async.threads:16}")
+    private int threads;
+
+    @Value("${catalog.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "catalog-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), factory),
+                "catalog.async");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<?>> getAllProducts(ProductQuery query, WebRequest request) {
+        if (!query.isPaged() && snapshotEnabled) {
+            // Pre-rendered snapshot, nothing to wait for
+            return CompletableFuture.completedFuture(productController.getAllProducts(query, request));
+        }
+        return offload(() -> productController.getAllProducts(query, request));
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<?>> getProductById(@PathVariable Long id, WebRequest request) {
+        return offload(() -> productController.getProductById(id, request));
+    }
+
+    @GetMapping("/categories")
+    public CompletableFuture<ResponseEntity<List<String>>> getCategories(WebRequest request) {
+        return CompletableFuture.completedFuture(productController.getCategories(request));
+    }
+
+    private CompletableFuture<ResponseEntity<?>> offload(Supplier<ResponseEntity<?>> read) {
+        try {
+            return CompletableFuture.supplyAsync(read, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://127.0.0.1:5173"})
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", caffeineCache.getNativeCache().estimatedSize());
+                entry.put("hits", stats.hitCount());
+                entry.put("misses", stats.missCount());
+                entry.put("evictions", stats.evictionCount());
+                entry.put("hitRate", stats.hitRate());
+                result.put(name, entry);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.OrderRequest;
+import com.ecommerce.model.CustomerOrder;
+import com.ecommerce.service.InsufficientStockException;
+import com.ecommerce.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/orders")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://127.0.0.1:5173"})
+public class OrderController {
+
+    @Autowired
+    private OrderService orderService;
+
+    @PostMapping
+    public ResponseEntity<?> placeOrder(@RequestBody OrderRequest request) {
+        return handle(() -> {
+            CustomerOrder order = orderService.reserve(request);
+            return ResponseEntity.created(URI.create("/api/orders/" + order.getId())).body(order);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getOrder(@PathVariable Long id) {
+        return handle(() -> ResponseEntity.ok(orderService.find(id)));
+    }
+
+    @PostMapping("/{id}/checkout")
+    public ResponseEntity<?> checkout(@PathVariable Long id) {
+        return handle(() -> ResponseEntity.ok(orderService.confirm(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelOrder(@PathVariable Long id) {
+        return handle(() -> ResponseEntity.ok(orderService.cancel(id)));
+    }
+
+    private static ResponseEntity<?> handle(Supplier<ResponseEntity<?>> action) {
+        try {
+            return action.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (InsufficientStockException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
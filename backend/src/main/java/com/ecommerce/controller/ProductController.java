@@ -1,43 +1,391 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.ProductCursor;
+import com.ecommerce.dto.ProductPage;
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.dto.ProductWindow;
+import com.ecommerce.dto.SyncReport;
 import com.ecommerce.model.Product;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductSpecifications;
+import com.ecommerce.service.CatalogRevision;
+import com.ecommerce.service.CatalogSyncService;
+import com.ecommerce.service.ColumnarCatalogService;
+import com.ecommerce.service.CategorySnapshotService;
+import com.ecommerce.service.FakeStoreService;
+import com.ecommerce.service.ProductCatalogService;
+import com.ecommerce.service.ProductExportService;
+import com.ecommerce.service.ProductFacetService;
+import com.ecommerce.service.ProductImportService;
+import com.ecommerce.service.ProductSearchService;
+import com.ecommerce.service.ProductSuggestService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://127.0.0.1:5173"})
 public class ProductController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalogService productCatalogService;
+
+    @Autowired
+    private CategorySnapshotService categorySnapshotService;
+
+    @Autowired
+    private CatalogRevision catalogRevision;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductSuggestService productSuggestService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private FakeStoreService fakeStoreService;
+
+    @Autowired
+    private CatalogSyncService catalogSyncService;
+
+    @Autowired
+    private ColumnarCatalogService columnarCatalogService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
     @GetMapping
-    public List<Product> getAllProducts(@RequestParam(required = false) String category) {
+    public ResponseEntity<?> getAllProducts(ProductQuery query, WebRequest request) {
+        if (query.isPaged()) {
+            return queryProducts(query, request);
+        }
+        if (snapshotEnabled) {
+            return snapshotListing(query.getCategory(), request);
+        }
+        // Listings depend only on the URL and the catalog revision
+        if (request.checkNotModified(catalogRevision.etag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        String category = query.getCategory();
         if (category != null && !category.isEmpty()) {
-            return productRepository.findByCategory(category.toUpperCase());
+            return revalidated().body(productCatalogService.findByCategory(category.toUpperCase()));
+        }
+        return revalidated().body(productRepository.findSummaries(null, ProductSort.ID.toSort(), 0, 0));
+    }
+
+    private ResponseEntity<?> snapshotListing(String category, WebRequest request) {
+        String key = category != null && !category.isEmpty() ? category.toUpperCase() : CategorySnapshotService.ALL;
+        CategorySnapshotService.Listing listing = categorySnapshotService.getListing(key);
+        if (request.checkNotModified(listing.getEtag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        return revalidated()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.getJson());
+    }
+
+    private ResponseEntity<?> queryProducts(ProductQuery query, WebRequest request) {
+        ProductSort sort;
+        try {
+            sort = ProductSort.fromParam(query.getSort());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (query.getMinPrice() != null && query.getMaxPrice() != null
+                && query.getMinPrice().compareTo(query.getMaxPrice()) > 0) {
+            return ResponseEntity.badRequest().body("minPrice must not exceed maxPrice");
+        }
+        if (query.resolvedOffset() > Integer.MAX_VALUE) {
+            return ResponseEntity.badRequest().body("page is out of range");
+        }
+        if (request.checkNotModified(catalogRevision.etag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        if (query.isKeyset()) {
+            return scrollProducts(query, sort);
+        }
+
+        PageRequest pageRequest = PageRequest.of(query.resolvedPage(), query.resolvedSize(), sort.toSort());
+        Specification<Product> spec = ProductSpecifications.matching(query);
+        List<ProductSummary> content = productRepository.findSummaries(spec, pageRequest.getSort(),
+                pageRequest.getOffset(), pageRequest.getPageSize());
+        // Skips the COUNT when the page is partial and therefore the last one
+        Page<ProductSummary> page = PageableExecutionUtils.getPage(content, pageRequest,
+                () -> productRepository.count(spec));
+        return revalidated().body(new ProductPage(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), page.hasNext()));
+    }
+
+    private ResponseEntity<?> scrollProducts(ProductQuery query, ProductSort sort) {
+        ProductCursor cursor = null;
+        if (!query.getCursor().isBlank()) {
+            try {
+                cursor = ProductCursor.decode(query.getCursor());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            if (query.getSort() == null) {
+                sort = cursor.getSort();
+            } else if (cursor.getSort() != sort) {
+                return ResponseEntity.badRequest().body("cursor does not match sort");
+            }
+        }
+
+        int size = query.resolvedSize();
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        List<ProductSummary> rows = productRepository.findPageAfter(query, sort, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ProductSummary> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? ProductCursor.after(sort, content.get(content.size() - 1)).encode() : null;
+        return revalidated().body(new ProductWindow(content, size, hasNext, nextCursor));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(@RequestParam String q,
+                                            @RequestParam(required = false) Integer limit,
+                                            WebRequest request) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body("q must not be blank");
+        }
+        if (request.checkNotModified(catalogRevision.etag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        int resolvedLimit = limit == null || limit <= 0 ? 20 : Math.min(limit, ProductQuery.MAX_PAGE_SIZE);
+        return revalidated().body(productSearchService.search(q, resolvedLimit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestProducts(@RequestParam String q,
+                                             @RequestParam(required = false) Integer limit,
+                                             WebRequest request) {
+        if (request.checkNotModified(catalogRevision.etag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        int resolvedLimit = limit == null || limit <= 0 ? 8 : Math.min(limit, 20);
+        return revalidated().body(productSuggestService.suggest(q, resolvedLimit));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<?> facetProducts(@RequestParam(required = false) List<String> category,
+                                           @RequestParam(required = false) List<String> sizes,
+                                           @RequestParam(required = false) List<String> colors,
+                                           @RequestParam(required = false) List<String> prices,
+                                           @RequestParam(required = false) Integer limit,
+                                           WebRequest request) {
+        if (request.checkNotModified(catalogRevision.etag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        int resolvedLimit = limit == null || limit < 0 ? ProductQuery.MAX_PAGE_SIZE : Math.min(limit, 1000);
+        return revalidated().body(productFacetService.facets(category, sizes, colors, prices, resolvedLimit));
+    }
+
+    /**
+     * Streams a CSV (with header) or JSON array feed from the request body into
+     * the catalog in batches and reports rows imported, rejected and per second.
+     * Without {@code format} the Content-Type decides.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importProducts(@RequestParam(required = false) String format,
+                                            @RequestParam(required = false) Integer batchSize,
+                                            HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            return ResponseEntity.badRequest().body("Send the feed as text/csv or application/json");
+        }
+        if (format == null) {
+            format = contentType != null && contentType.contains("json") ? "json" : "csv";
+        }
+        try {
+            return ResponseEntity.ok(productImportService.importFeed(request.getInputStream(), format, batchSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Could not read feed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streams the configured DummyJSON supplier feed into the catalog.
+     */
+    @PostMapping("/import/dummyjson")
+    public ResponseEntity<?> importDummyJson() {
+        try {
+            return ResponseEntity.ok(fakeStoreService.ingestDummyJson());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body("Supplier feed failed: " + (e.getMessage() != null ? e.getMessage() : e.toString()));
+        }
+    }
+
+    /**
+     * Syncs every supplier catalog now, writing only what changed.
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<List<SyncReport>> syncProducts() {
+        return ResponseEntity.ok(catalogSyncService.syncSuppliers());
+    }
+
+    /**
+     * Writes the catalog to the memory-mapped columnar file
+     * ({@code catalog.columnar.path}) and starts serving it.
+     */
+    @PostMapping("/columnar")
+    public ResponseEntity<?> exportColumnar() {
+        try {
+            return ResponseEntity.ok(columnarCatalogService.export());
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Filtered, paged listing answered from the columnar file instead of the
+     * database: category, price range, sizes and colors, in id or price order.
+     * Everything, stock included, is as of the last export.
+     */
+    @GetMapping("/columnar")
+    public ResponseEntity<?> queryColumnar(ProductQuery query) {
+        if (query.getMinPrice() != null && query.getMaxPrice() != null
+                && query.getMinPrice().compareTo(query.getMaxPrice()) > 0) {
+            return ResponseEntity.badRequest().body("minPrice must not exceed maxPrice");
+        }
+        try {
+            return ResponseEntity.ok(columnarCatalogService.query(query));
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Full catalog as NDJSON, one product per line in id order, streamed
+     * straight from the database. Gzipped when the client accepts it. Pass the
+     * id of the last line received as {@code after} to resume a broken export.
+     * Written on the request thread, so a long export is not cut off by the
+     * async request timeout.
+     */
+    @GetMapping("/export")
+    public void exportProducts(@RequestParam(defaultValue = "0") long after, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        if (after < 0) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "after must not be negative");
+            return;
+        }
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // Closing writes the gzip trailer; on a failed write it still releases the deflater
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024, true)
+                : response.getOutputStream()) {
+            productExportService.writeNdjson(after, out);
+        } catch (IOException e) {
+            // Usually the consumer went away; it resumes from the last id it received
+            log.warn("Product export after id {} aborted: {}", after, e.getMessage());
         }
-        return productRepository.findAll();
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip: listed as
+     * {@code gzip} or {@code x-gzip}, or covered by {@code *}, with a q-value
+     * above zero. An explicit {@code gzip;q=0} wins over {@code *}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        double anyQuality = 0;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return gzipQuality != null ? gzipQuality > 0 : anyQuality > 0;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, WebRequest request) {
         if (id == null) {
             return ResponseEntity.badRequest().build();
         }
-        Optional<Product> product = productRepository.findById(id);
-        return product.map(ResponseEntity::ok)
-                     .orElse(ResponseEntity.notFound().build());
+        // Served from the catalog cache, so a revalidation does not reach the database
+        Optional<Product> product = productCatalogService.findById(id);
+        if (product.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Product p = product.get();
+        String etag = "\"" + catalogRevision.getEpoch() + "-" + p.getId() + "-" + p.getVersion() + "\"";
+        long lastModified = p.getUpdatedAt() != null ? p.getUpdatedAt().toEpochMilli() : -1;
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return revalidated().body(p);
     }
 
     @GetMapping("/categories")
-    public List<String> getCategories() {
-        return List.of("MEN", "WOMEN", "KIDS");
+    public ResponseEntity<List<String>> getCategories(WebRequest request) {
+        if (request.checkNotModified(catalogRevision.etag(), catalogRevision.lastModified())) {
+            return null;
+        }
+        return revalidated().body(productCatalogService.getCategories());
     }
-}
 
+    // Let browsers and the CDN keep a copy but revalidate it with the ETag on every use
+    private static ResponseEntity.BodyBuilder revalidated() {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache());
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.dto;
+
+/**
+ * Outcome of exporting the catalog to the columnar file: where it went, how
+ * many products it holds, its size and the catalog revision it reflects.
+ */
+public class ColumnarExportReport {
+    private String path;
+    private int products;
+    private long bytes;
+    private long revision;
+    private long millis;
+
+    public ColumnarExportReport() {}
+
+    public ColumnarExportReport(String path, int products, long bytes, long revision, long millis) {
+        this.path = path;
+        this.products = products;
+        this.bytes = bytes;
+        this.revision = revision;
+        this.millis = millis;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public void setProducts(int products) {
+        this.products = products;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
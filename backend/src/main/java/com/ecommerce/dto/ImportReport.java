@@ -0,0 +1,67 @@
+package com.ecommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of POST /api/products/import: how many rows were written and
+ * rejected, and how fast. {@code errors} holds the first few rejection reasons.
+ */
+public class ImportReport {
+    private long imported;
+    private long rejected;
+    private int batches;
+    private long millis;
+    private long rowsPerSecond;
+    private List<String> errors = new ArrayList<>();
+
+    public ImportReport() {}
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/orders: the cart lines to reserve stock for.
+ */
+public class OrderRequest {
+    private List<Line> items;
+
+    public OrderRequest() {}
+
+    public OrderRequest(List<Line> items) {
+        this.items = items;
+    }
+
+    public List<Line> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Line> items) {
+        this.items = items;
+    }
+
+    public static class Line {
+        private Long productId;
+        private Integer quantity;
+
+        public Line() {}
+
+        public Line(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.dto;
+
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset paging. Encodes the sort order and the
+ * (sort key, id) of the last row on the previous page, so the next page is read
+ * with an index seek instead of an OFFSET scan.
+ */
+public final class ProductCursor {
+    private static final String VERSION = "v1";
+
+    private final ProductSort sort;
+    private final BigDecimal price;
+    private final long id;
+
+    public ProductCursor(ProductSort sort, BigDecimal price, long id) {
+        this.sort = sort;
+        this.price = price;
+        this.id = id;
+    }
+
+    public static ProductCursor after(ProductSort sort, ProductSummary last) {
+        return new ProductCursor(sort, sort == ProductSort.ID ? null : last.getPrice(), last.getId());
+    }
+
+    public ProductSort getSort() {
+        return sort;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + sort.name() + ":" + (price != null ? price.toPlainString() : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ProductSort sort = ProductSort.valueOf(parts[1]);
+            BigDecimal price = parts[2].isEmpty() ? null : new BigDecimal(parts[2]);
+            if (sort != ProductSort.ID && price == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(sort, price, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // Covers bad Base64, unknown sort names and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of GET /api/products/facets: the products matching the selected
+ * facet values and, for every facet, how many products each value would match.
+ */
+public class ProductFacetResult {
+    private int totalMatches;
+    private List<Long> productIds;
+    private Map<String, Map<String, Integer>> facets;
+
+    public ProductFacetResult() {}
+
+    public ProductFacetResult(int totalMatches, List<Long> productIds, Map<String, Map<String, Integer>> facets) {
+        this.totalMatches = totalMatches;
+        this.productIds = productIds;
+        this.facets = facets;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(int totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    public void setProductIds(List<Long> productIds) {
+        this.productIds = productIds;
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Map<String, Integer>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request parameters for the filtered/paged product listing. Bound directly from
+ * the query string of GET /api/products, e.g.
+ * {@code ?category=MEN&minPrice=20&sizes=M,L&q=shirt&sort=price-low&page=0&size=24}.
+ * Passing {@code cursor} (empty for the first page) selects keyset paging instead of
+ * page numbers.
+ */
+public class ProductQuery {
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private String category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private List<String> sizes;
+    private List<String> colors;
+    private String q;
+    private String sort;
+    private Integer page;
+    private Integer size;
+    private String cursor;
+
+    public ProductQuery() {}
+
+    /**
+     * True when the request asks for anything beyond the legacy
+     * {@code ?category=} listing, i.e. when a bounded page should be returned.
+     */
+    public boolean isPaged() {
+        return minPrice != null || maxPrice != null
+                || (sizes != null && !sizes.isEmpty())
+                || (colors != null && !colors.isEmpty())
+                || (q != null && !q.isBlank())
+                || sort != null || page != null || size != null || cursor != null;
+    }
+
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
+    public int resolvedPage() {
+        return page != null && page > 0 ? page : 0;
+    }
+
+    /**
+     * Rows skipped before the resolved page. The database listing rejects
+     * offsets beyond {@code Integer.MAX_VALUE}.
+     */
+    public long resolvedOffset() {
+        return (long) resolvedPage() * resolvedSize();
+    }
+
+    public int resolvedSize() {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public List<String> getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(List<String> sizes) {
+        this.sizes = sizes;
+    }
+
+    public List<String> getColors() {
+        return colors;
+    }
+
+    public void setColors(List<String> colors) {
+        this.colors = colors;
+    }
+
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
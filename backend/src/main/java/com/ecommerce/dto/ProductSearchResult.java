@@ -0,0 +1,72 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * Ranked response of GET /api/products/search.
+ */
+public class ProductSearchResult {
+    private String query;
+    private int totalMatches;
+    private List<Hit> hits;
+
+    public ProductSearchResult() {}
+
+    public ProductSearchResult(String query, int totalMatches, List<Hit> hits) {
+        this.query = query;
+        this.totalMatches = totalMatches;
+        this.hits = hits;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(int totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<Hit> hits) {
+        this.hits = hits;
+    }
+
+    public static class Hit {
+        private ProductSummary product;
+        private float score;
+
+        public Hit() {}
+
+        public Hit(ProductSummary product, float score) {
+            this.product = product;
+            this.score = score;
+        }
+
+        public ProductSummary getProduct() {
+            return product;
+        }
+
+        public void setProduct(ProductSummary product) {
+            this.product = product;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public void setScore(float score) {
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+/**
+ * Sort orders offered by the product listing. Accepts both the API names and
+ * the values used by the frontend ProductSort component ("price-low", "price-high").
+ * Every order is tie-broken on id so that paging is stable.
+ */
+public enum ProductSort {
+    ID(Sort.by(Sort.Order.asc("id"))),
+    PRICE_ASC(Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"))),
+    PRICE_DESC(Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id")));
+
+    private final Sort sort;
+
+    ProductSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort toSort() {
+        return sort;
+    }
+
+    public static ProductSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "id":
+            case "default":
+                return ID;
+            case "price-asc":
+            case "price-low":
+                return PRICE_ASC;
+            case "price-desc":
+            case "price-high":
+                return PRICE_DESC;
+            default:
+                throw new IllegalArgumentException("Unknown sort: " + value);
+        }
+    }
+}
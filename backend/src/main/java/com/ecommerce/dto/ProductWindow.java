@@ -0,0 +1,55 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) scroll. Pass {@code nextCursor} back as
+ * {@code ?cursor=} to fetch the following page; it is null on the last page.
+ */
+public class ProductWindow {
+    private List<ProductSummary> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public ProductWindow() {}
+
+    public ProductWindow(List<ProductSummary> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ProductSummary> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ProductSummary> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
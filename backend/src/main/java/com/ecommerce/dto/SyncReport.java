@@ -0,0 +1,78 @@
+package com.ecommerce.dto;
+
+/**
+ * Outcome of syncing one supplier's catalog: how many products were inserted,
+ * updated, deleted and left untouched. A supplier whose feed could not be
+ * fetched is reported as skipped and nothing of it is changed.
+ */
+public class SyncReport {
+    private String supplier;
+    private boolean skipped;
+    private int inserted;
+    private int updated;
+    private int deleted;
+    private int unchanged;
+    private long millis;
+
+    public SyncReport() {}
+
+    public SyncReport(String supplier) {
+        this.supplier = supplier;
+    }
+
+    public String getSupplier() {
+        return supplier;
+    }
+
+    public void setSupplier(String supplier) {
+        this.supplier = supplier;
+    }
+
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(boolean skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
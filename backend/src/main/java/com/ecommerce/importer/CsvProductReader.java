@@ -0,0 +1,119 @@
+package com.ecommerce.importer;
+
+import com.ecommerce.model.Product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads products from RFC 4180 CSV with a header row naming the columns
+ * {@code name, description, price, category, imageUrls, size, color, stock} in
+ * any order. Quoted fields may contain commas, quotes ({@code ""}) and line
+ * breaks; {@code imageUrls} is a comma-separated list inside one field.
+ */
+public class CsvProductReader implements ProductSource {
+
+    private static final String[] COLUMNS = {"name", "description", "price", "category", "imageurls", "size",
+            "color", "stock"};
+
+    private final BufferedReader reader;
+    private final int[] positions = new int[COLUMNS.length];
+    private long line;
+    private long recordLine;
+
+    public CsvProductReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 1 << 16);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byName.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (int i = 0; i < COLUMNS.length; i++) {
+            positions[i] = byName.getOrDefault(COLUMNS[i], -1);
+        }
+        if (positions[0] < 0 || positions[2] < 0 || positions[3] < 0) {
+            throw new IllegalArgumentException("CSV header must include name, price and category");
+        }
+    }
+
+    @Override
+    public Product next(Consumer<String> rejected) throws IOException {
+        List<String> record;
+        while ((record = readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            try {
+                return ProductRows.toProduct(field(record, 0), field(record, 1), field(record, 2), field(record, 3),
+                        field(record, 4), field(record, 5), field(record, 6), field(record, 7));
+            } catch (IllegalArgumentException e) {
+                rejected.accept("line " + recordLine + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> record, int column) {
+        int position = positions[column];
+        return position >= 0 && position < record.size() ? record.get(position) : null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = ++line;
+        List<String> fields = new ArrayList<>(COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next >= 0) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
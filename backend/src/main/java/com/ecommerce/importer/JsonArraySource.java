@@ -0,0 +1,88 @@
+package com.ecommerce.importer;
+
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams the elements of a JSON array, binding each one to {@code type} and
+ * transforming it into a product as soon as it has been parsed. The array is
+ * either the whole document or the value of a top-level field, as in
+ * DummyJSON's {@code {"products": [...], "total": ...}}; anything after it is
+ * never read. Only one element is held in memory at a time, so the feed can be
+ * far larger than the heap.
+ *
+ * <p>A transform returning null filters the element out; one throwing
+ * {@link IllegalArgumentException} rejects it.
+ */
+public class JsonArraySource<T> implements ProductSource {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final Function<T, Product> transform;
+    private boolean inArray;
+    private long index;
+
+    public JsonArraySource(InputStream in, ObjectMapper objectMapper, String arrayField, Class<T> type,
+                           Function<T, Product> transform) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.transform = transform;
+        this.inArray = arrayField == null ? parser.nextToken() == JsonToken.START_ARRAY : seek(arrayField);
+    }
+
+    @Override
+    public Product next(Consumer<String> rejected) throws IOException {
+        while (inArray) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                inArray = false;
+                break;
+            }
+            long element = index++;
+            // Reading the element as a tree consumes it fully, so a binding error cannot derail the parser
+            JsonNode node = objectMapper.readTree(parser);
+            try {
+                Product product = transform.apply(objectMapper.treeToValue(node, type));
+                if (product != null) {
+                    return product;
+                }
+            } catch (JsonProcessingException e) {
+                rejected.accept("element " + element + ": " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                rejected.accept("element " + element + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private boolean seek(String arrayField) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (arrayField.equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
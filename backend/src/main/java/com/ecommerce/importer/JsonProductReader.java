@@ -0,0 +1,82 @@
+package com.ecommerce.importer;
+
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Reads products from a JSON array of objects with the same fields as the
+ * CSV feed, one element at a time. {@code imageUrls} may be a comma-separated
+ * string or an array; {@code gallery} is accepted as an array alias.
+ */
+public class JsonProductReader implements ProductSource {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private long index;
+
+    public JsonProductReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("JSON feed must be an array of products");
+        }
+    }
+
+    @Override
+    public Product next(Consumer<String> rejected) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            long element = index++;
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                rejected.accept("element " + element + ": not an object");
+                continue;
+            }
+            // Only one element is materialized at a time
+            JsonNode node = objectMapper.readTree(parser);
+            try {
+                return ProductRows.toProduct(text(node, "name"), text(node, "description"), text(node, "price"),
+                        text(node, "category"), images(node), text(node, "size"), text(node, "color"),
+                        text(node, "stock"));
+            } catch (IllegalArgumentException e) {
+                rejected.accept("element " + element + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String images(JsonNode node) {
+        JsonNode value = node.has("imageUrls") ? node.get("imageUrls") : node.get("gallery");
+        if (value == null || value.isNull()) {
+            return text(node, "imageUrl");
+        }
+        if (!value.isArray()) {
+            return value.asText();
+        }
+        StringBuilder joined = new StringBuilder();
+        for (JsonNode url : value) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(url.asText());
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.importer;
+
+import com.ecommerce.model.Product;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Validation shared by the feed readers, so a CSV and a JSON row with the same
+ * values produce the same product or the same rejection.
+ */
+final class ProductRows {
+
+    private ProductRows() {}
+
+    static Product toProduct(String name, String description, String price, String category, String imageUrls,
+                             String size, String color, String stock) {
+        if (isBlank(name)) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (isBlank(category)) {
+            throw new IllegalArgumentException("category is required");
+        }
+        if (isBlank(size) || isBlank(color)) {
+            throw new IllegalArgumentException("size and color are required");
+        }
+        BigDecimal parsedPrice;
+        try {
+            parsedPrice = new BigDecimal(price.trim());
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new IllegalArgumentException("invalid price: " + price);
+        }
+        if (parsedPrice.signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        int parsedStock = 0;
+        if (!isBlank(stock)) {
+            try {
+                parsedStock = Integer.parseInt(stock.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid stock: " + stock);
+            }
+            if (parsedStock < 0) {
+                throw new IllegalArgumentException("stock must not be negative");
+            }
+        }
+        return new Product(name.trim(), description != null ? description.trim() : "", parsedPrice,
+                category.trim().toUpperCase(Locale.ROOT), imageUrls, size.trim(), color.trim(), parsedStock);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
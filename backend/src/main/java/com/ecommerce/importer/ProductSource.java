@@ -0,0 +1,29 @@
+package com.ecommerce.importer;
+
+import com.ecommerce.model.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * A stream of products to import, read one at a time so a feed never has to fit
+ * in memory. Rows that cannot be turned into a product are reported to the
+ * rejection handler and skipped.
+ */
+public interface ProductSource extends Closeable {
+
+    /**
+     * The next product, or null at the end of the feed.
+     */
+    Product next(Consumer<String> rejected) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    static ProductSource of(Iterator<Product> products) {
+        return rejected -> products.hasNext() ? products.next() : null;
+    }
+}
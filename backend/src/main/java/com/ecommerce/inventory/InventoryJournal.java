@@ -0,0 +1,135 @@
+package com.ecommerce.inventory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of stock deltas. Each record is
+ * {@code seq, productId, delta, crc32} in fixed 24-byte frames, so recovery can
+ * stop cleanly at a torn tail after a crash.
+ *
+ * <p>Not thread-safe: a single writer owns the journal.
+ */
+public class InventoryJournal implements Closeable {
+
+    private static final int RECORD_SIZE = 8 + 8 + 4 + 4;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 1024);
+
+    public InventoryJournal(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ);
+        channel.position(channel.size());
+    }
+
+    public void append(long seq, long productId, int delta) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            drainBuffer();
+        }
+        CRC32 crc = new CRC32();
+        int start = buffer.position();
+        buffer.putLong(seq).putLong(productId).putInt(delta);
+        ByteBuffer frame = buffer.duplicate();
+        frame.position(start).limit(start + RECORD_SIZE - 4);
+        crc.update(frame);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Writes buffered records and forces them to disk; records appended before
+     * this call survive a crash once it returns.
+     */
+    public void sync() throws IOException {
+        drainBuffer();
+        channel.force(false);
+    }
+
+    /**
+     * Drops every record. Only safe once all of them are reflected in the database.
+     */
+    public void truncate() throws IOException {
+        buffer.clear();
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    /**
+     * Records in append order, up to the first incomplete or corrupt frame.
+     */
+    public List<Record> readAll() throws IOException {
+        List<Record> records = new ArrayList<>();
+        ByteBuffer frame = ByteBuffer.allocate(RECORD_SIZE);
+        long position = 0;
+        while (position + RECORD_SIZE <= channel.size()) {
+            frame.clear();
+            while (frame.hasRemaining()) {
+                if (channel.read(frame, position + frame.position()) < 0) {
+                    return records;
+                }
+            }
+            frame.flip();
+            CRC32 crc = new CRC32();
+            crc.update(frame.array(), 0, RECORD_SIZE - 4);
+            long seq = frame.getLong();
+            long productId = frame.getLong();
+            int delta = frame.getInt();
+            if (frame.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            records.add(new Record(seq, productId, delta));
+            position += RECORD_SIZE;
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        drainBuffer();
+        channel.close();
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static final class Record {
+        private final long seq;
+        private final long productId;
+        private final int delta;
+
+        Record(long seq, long productId, int delta) {
+            this.seq = seq;
+            this.productId = productId;
+            this.delta = delta;
+        }
+
+        public long getSeq() {
+            return seq;
+        }
+
+        public long getProductId() {
+            return productId;
+        }
+
+        public int getDelta() {
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Available stock of one SKU spread over several counters so concurrent buyers
+ * mostly CAS different cache lines instead of queuing on one row lock.
+ *
+ * <p>A take first tries the caller's home stripe. When that stripe is short the
+ * caller falls back to a reconciliation under the SKU's monitor: it drains
+ * every stripe, takes what it needs from the sum if there is enough, and
+ * spreads the rest back. Stripes only ever decrease by a successful CAS that
+ * leaves them non-negative, so the total never goes below zero, and a take is
+ * only refused after the whole stock was counted under the monitor.
+ */
+public class StripedStock {
+
+    // Eight longs apart, so neighbouring stripes do not share a 64-byte cache line
+    private static final int PAD = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    public StripedStock(long initial, int stripes) {
+        if (initial < 0) {
+            throw new IllegalArgumentException("stock must not be negative");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PAD);
+        spread(initial);
+    }
+
+    /**
+     * Takes {@code quantity} units, or nothing when fewer are available.
+     */
+    public boolean tryTake(long quantity) {
+        int home = home();
+        long current = cells.get(home);
+        while (current >= quantity) {
+            if (cells.compareAndSet(home, current, current - quantity)) {
+                return true;
+            }
+            current = cells.get(home);
+        }
+        return reconcileAndTake(quantity);
+    }
+
+    public void give(long quantity) {
+        cells.addAndGet(home(), quantity);
+    }
+
+    /**
+     * Takes up to {@code quantity} units, as many as are available.
+     *
+     * @return how many were taken
+     */
+    public synchronized long takeUpTo(long quantity) {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += cells.getAndSet(i * PAD, 0);
+        }
+        long taken = Math.min(drained, quantity);
+        spread(drained - taken);
+        return taken;
+    }
+
+    /**
+     * Sum of the stripes. Exact when no take or give is in flight.
+     */
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PAD);
+        }
+        return total;
+    }
+
+    private synchronized boolean reconcileAndTake(long quantity) {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += cells.getAndSet(i * PAD, 0);
+        }
+        boolean taken = drained >= quantity;
+        spread(taken ? drained - quantity : drained);
+        return taken;
+    }
+
+    // Adds rather than sets, so gives that landed on a drained stripe are kept
+    private void spread(long amount) {
+        long share = amount / stripes;
+        long remainder = amount % stripes;
+        for (int i = 0; i < stripes; i++) {
+            long add = share + (i < remainder ? 1 : 0);
+            if (add != 0) {
+                cells.addAndGet(i * PAD, add);
+            }
+        }
+    }
+
+    private int home() {
+        return (int) (mix(Thread.currentThread().getId()) % stripes) * PAD;
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        return (x ^ (x >>> 33)) & Long.MAX_VALUE;
+    }
+}
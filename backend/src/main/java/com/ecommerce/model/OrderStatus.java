@@ -0,0 +1,12 @@
+package com.ecommerce.model;
+
+/**
+ * Lifecycle of a {@link CustomerOrder}. Stock is held from RESERVED onwards and
+ * given back when a reservation is CANCELLED or EXPIRED.
+ */
+public enum OrderStatus {
+    RESERVED,
+    CONFIRMED,
+    CANCELLED,
+    EXPIRED
+}
@@ -1,13 +1,28 @@
 package com.ecommerce.model;
 
+import com.ecommerce.service.ProductChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "products")
+@EntityListeners(ProductChangeListener.class)
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category"),
+        @Index(name = "idx_products_price", columnList = "price, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_products_supplier", columnNames = {"supplier", "supplier_id"}))
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A pooled sequence lets Hibernate batch inserts; IDENTITY forces one round trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,8 +37,16 @@ public class Product {
     @Column(nullable = false)
     private String category; // "MEN" or "WOMEN"
 
-    @Column(nullable = false, length = 2000)
-    private String imageUrls; // Comma-separated list of image URLs
+    @Column(length = 1000)
+    private String imageUrl; // First gallery image, kept on the row so listings never touch product_images
+
+    // Ordered gallery, loaded only when asked for (detail view), in batches when several products need it
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "url", nullable = false, length = 1000)
+    @BatchSize(size = 100)
+    private List<String> gallery = new ArrayList<>();
 
     @Column(nullable = false)
     private String size; // "S", "M", "L", "XL", etc.
@@ -34,6 +57,26 @@ public class Product {
     @Column(nullable = false)
     private Integer stock;
 
+    // Where a synced product came from and the hash of its supplier content, see CatalogSyncService
+    @JsonIgnore
+    @Column(length = 32)
+    private String supplier;
+
+    @JsonIgnore
+    @Column(name = "supplier_id", length = 64)
+    private String supplierId;
+
+    @JsonIgnore
+    @Column(length = 64)
+    private String contentHash;
+
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
     public Product() {}
 
     public Product(String name, String description, BigDecimal price, String category, 
@@ -42,7 +85,7 @@ public class Product {
         this.description = description;
         this.price = price;
         this.category = category;
-        this.imageUrls = imageUrls;
+        setGallery(splitUrls(imageUrls));
         this.size = size;
         this.color = color;
         this.stock = stock;
@@ -89,21 +132,19 @@ public class Product {
         this.category = category;
     }
 
-    public String getImageUrls() {
-        return imageUrls;
+    public String getImageUrl() {
+        return imageUrl != null ? imageUrl : "";
     }
 
-    public void setImageUrls(String imageUrls) {
-        this.imageUrls = imageUrls;
+    // Null unless the gallery was fetched, so listings serialize the primary image only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<String> getGallery() {
+        return Hibernate.isInitialized(gallery) ? gallery : null;
     }
-    
-    // Backward compatibility - returns first image
-    public String getImageUrl() {
-        if (imageUrls != null && !imageUrls.isEmpty()) {
-            String[] urls = imageUrls.split(",");
-            return urls[0].trim();
-        }
-        return "";
+
+    public void setGallery(List<String> gallery) {
+        this.gallery = gallery != null ? new ArrayList<>(gallery) : new ArrayList<>();
+        this.imageUrl = this.gallery.isEmpty() ? null : this.gallery.get(0);
     }
 
     public String getSize() {
@@ -129,5 +170,64 @@ public class Product {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public String getSupplier() {
+        return supplier;
+    }
+
+    public void setSupplier(String supplier) {
+        this.supplier = supplier;
+    }
+
+    public String getSupplierId() {
+        return supplierId;
+    }
+
+    public void setSupplierId(String supplierId) {
+        this.supplierId = supplierId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
+    // Suppliers hand over galleries as comma-joined strings; split once on the way in
+    private static List<String> splitUrls(String imageUrls) {
+        List<String> urls = new ArrayList<>();
+        if (imageUrls != null) {
+            for (String url : imageUrls.split(",")) {
+                if (!url.isBlank()) {
+                    urls.add(url.trim());
+                }
+            }
+        }
+        return urls;
+    }
 }
 
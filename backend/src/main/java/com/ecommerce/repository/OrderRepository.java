@@ -0,0 +1,34 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.CustomerOrder;
+import com.ecommerce.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OrderRepository extends JpaRepository<CustomerOrder, Long> {
+
+    // Status changes only succeed from RESERVED, so concurrent confirm/cancel/expire
+    // calls on one order have exactly one winner
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CustomerOrder o SET o.status = com.ecommerce.model.OrderStatus.CONFIRMED "
+            + "WHERE o.id = ?1 AND o.status = com.ecommerce.model.OrderStatus.RESERVED AND o.expiresAt > ?2")
+    int confirm(Long id, Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CustomerOrder o SET o.status = ?2 "
+            + "WHERE o.id = ?1 AND o.status = com.ecommerce.model.OrderStatus.RESERVED")
+    int release(Long id, OrderStatus status);
+
+    @Query("SELECT o.id FROM CustomerOrder o "
+            + "WHERE o.status = com.ecommerce.model.OrderStatus.RESERVED AND o.expiresAt <= ?1 ORDER BY o.expiresAt")
+    List<Long> findExpiredIds(Instant now, Pageable pageable);
+
+    long countByStatus(OrderStatus status);
+}
@@ -1,17 +1,83 @@
 package com.ecommerce.repository;
 
+import com.ecommerce.dto.ProductCursor;
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
 import com.ecommerce.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductSummaryRepository {
     List<Product> findByCategory(String category);
+
+    // Detail view: the product and its image gallery in one query
+    @EntityGraph(attributePaths = "gallery")
+    Optional<Product> findWithGalleryById(Long id);
     
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category = ?1")
     long countByCategory(String category);
-}
 
+    // Product count per category as (category, count), in one query
+    @Query("SELECT p.category, COUNT(p) FROM Product p GROUP BY p.category")
+    List<Object[]> countPerCategory();
+
+    @Query("SELECT DISTINCT p.category FROM Product p")
+    List<String> findDistinctCategories();
+
+    // Full-catalog export in id order after the given id, fetched from the cursor in chunks as the stream is read;
+    // must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.id > ?1 ORDER BY p.id")
+    Stream<Product> streamAfter(long lastId);
+
+    // Sync state of one supplier's products as (id, supplierId, contentHash), without loading entities
+    @Query("SELECT p.id, p.supplierId, p.contentHash FROM Product p WHERE p.supplier = ?1")
+    List<Object[]> findSyncState(String supplier);
+
+    /**
+     * Takes {@code quantity} units if that many are in stock, as a single
+     * conditional UPDATE so concurrent buyers cannot oversell. Returns the number
+     * of rows changed: 0 means not enough stock (or no such product). Bumps the
+     * version so validators and optimistic writers see the change.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - ?2, p.version = p.version + 1, p.updatedAt = ?3 "
+            + "WHERE p.id = ?1 AND p.stock >= ?2")
+    int reserveStock(Long id, int quantity, Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + ?2, p.version = p.version + 1, p.updatedAt = ?3 "
+            + "WHERE p.id = ?1")
+    int releaseStock(Long id, int quantity, Instant now);
+
+    /**
+     * Keyset page: up to {@code limit} products matching the query that sort after
+     * {@code cursor} (or from the start when it is null). Cost does not grow with depth.
+     */
+    default List<ProductSummary> findPageAfter(ProductQuery query, ProductSort sort, ProductCursor cursor, int limit) {
+        Specification<Product> spec = ProductSpecifications.matching(query);
+        if (cursor != null) {
+            spec = spec.and(ProductSpecifications.after(cursor));
+        }
+        return findSummaries(spec, sort.toSort(), 0, limit);
+    }
+}
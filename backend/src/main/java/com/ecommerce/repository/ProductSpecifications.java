@@ -0,0 +1,102 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.ProductCursor;
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.model.Product;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds JPA criteria for {@link ProductQuery} so filtering runs in the database
+ * instead of in the browser.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {}
+
+    public static Specification<Product> matching(ProductQuery query) {
+        return (root, cq, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (query.getCategory() != null && !query.getCategory().isBlank()) {
+                predicates.add(cb.equal(root.get("category"), query.getCategory().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (query.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.getMinPrice()));
+            }
+            if (query.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.getMaxPrice()));
+            }
+            List<String> sizes = clean(query.getSizes());
+            if (!sizes.isEmpty()) {
+                predicates.add(root.get("size").in(sizes));
+            }
+            List<String> colors = clean(query.getColors());
+            if (!colors.isEmpty()) {
+                predicates.add(root.get("color").in(colors));
+            }
+            if (query.getQ() != null && !query.getQ().isBlank()) {
+                String pattern = "%" + escapeLike(query.getQ().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("description")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("category")), pattern, '\\')));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Product> inCategory(String category) {
+        return (root, cq, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, cq, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Keyset predicate selecting rows strictly after the cursor in its sort order.
+     * Written as {@code price >= ? AND (price > ? OR id > ?)} rather than a plain OR so
+     * the leading conjunct can drive a range scan on the (price, id) index.
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, cq, cb) -> {
+            switch (cursor.getSort()) {
+                case PRICE_ASC:
+                    return cb.and(
+                            cb.greaterThanOrEqualTo(root.get("price"), cursor.getPrice()),
+                            cb.or(cb.greaterThan(root.get("price"), cursor.getPrice()),
+                                  cb.greaterThan(root.get("id"), cursor.getId())));
+                case PRICE_DESC:
+                    return cb.and(
+                            cb.lessThanOrEqualTo(root.get("price"), cursor.getPrice()),
+                            cb.or(cb.lessThan(root.get("price"), cursor.getPrice()),
+                                  cb.lessThan(root.get("id"), cursor.getId())));
+                default:
+                    return cb.greaterThan(root.get("id"), cursor.getId());
+            }
+        };
+    }
+
+    private static List<String> clean(List<String> values) {
+        List<String> result = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    result.add(value.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Listing queries that select only the {@link ProductSummary} columns. Results
+ * are plain DTOs, so nothing enters the persistence context.
+ */
+public interface ProductSummaryRepository {
+
+    /**
+     * Summaries matching {@code spec} (all products when null) in {@code sort}
+     * order, skipping {@code offset} rows and returning at most {@code limit}
+     * (no limit when it is zero or negative).
+     */
+    List<ProductSummary> findSummaries(Specification<Product> spec, Sort sort, long offset, int limit);
+}
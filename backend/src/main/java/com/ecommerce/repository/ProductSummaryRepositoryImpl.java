@@ -0,0 +1,53 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+class ProductSummaryRepositoryImpl implements ProductSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductSummary> findSummaries(Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> cq = cb.createQuery(ProductSummary.class);
+        Root<Product> root = cq.from(Product.class);
+        cq.select(cb.construct(ProductSummary.class,
+                root.get("id"), root.get("name"), root.get("description"), root.get("price"),
+                root.get("category"), root.get("imageUrl"), root.get("size"), root.get("color"),
+                root.get("stock")));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, cq, cb);
+            if (predicate != null) {
+                cq.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<ProductSummary> query = entityManager.createQuery(cq);
+        if (offset > 0) {
+            query.setFirstResult(Math.toIntExact(offset));
+        }
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,233 @@
+package com.ecommerce.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the filterable product attributes. Every (facet, value)
+ * pair owns a compressed bitmap of product ids, so a filter is a union of the
+ * selected values within a facet intersected across facets, and each facet
+ * count is an intersection cardinality that never materializes a result set.
+ *
+ * <p>Counts are disjunctive: the counts for a facet apply the selections of
+ * every other facet but not its own, so sibling values stay selectable.
+ *
+ * <p>Thread-safe: queries share a read lock, updates take the write lock.
+ */
+public class FacetIndex {
+
+    public enum Facet {
+        CATEGORY, SIZE, COLOR, PRICE
+    }
+
+    // Lower bounds of the price buckets; the last bucket is open-ended
+    private static final int[] PRICE_EDGES = {0, 25, 50, 100, 200};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Facet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(Facet.class);
+    private final Map<Integer, String[]> valuesById = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    public FacetIndex() {
+        for (Facet facet : Facet.values()) {
+            bitmaps.put(facet, new TreeMap<>());
+        }
+    }
+
+    public void upsert(long productId, String category, String size, String color, BigDecimal price) {
+        int id = Math.toIntExact(productId);
+        String[] values = new String[Facet.values().length];
+        values[Facet.CATEGORY.ordinal()] = category;
+        values[Facet.SIZE.ordinal()] = size;
+        values[Facet.COLOR.ordinal()] = color;
+        values[Facet.PRICE.ordinal()] = price != null ? priceBucket(price) : null;
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Facet facet : Facet.values()) {
+                String value = values[facet.ordinal()];
+                if (value != null) {
+                    bitmaps.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(id);
+                }
+            }
+            valuesById.put(id, values);
+            all.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(Map::clear);
+            valuesById.clear();
+            all.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Shrinks every bitmap to its most compact container layout. Worth calling
+     * after a bulk load.
+     */
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            for (Map<String, RoaringBitmap> values : bitmaps.values()) {
+                for (RoaringBitmap bitmap : values.values()) {
+                    bitmap.runOptimize();
+                }
+            }
+            all.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the selections (OR within a facet, AND across facets) and returns
+     * the matching ids plus a count for every value of every facet.
+     */
+    public Result query(Map<Facet, ? extends Collection<String>> selections) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, RoaringBitmap> filters = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                Collection<String> selected = selections.get(facet);
+                if (selected != null && !selected.isEmpty()) {
+                    filters.put(facet, union(facet, selected));
+                }
+            }
+
+            RoaringBitmap matching = intersect(filters, null);
+            Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                RoaringBitmap base = filters.containsKey(facet) ? intersect(filters, facet) : matching;
+                Map<String, Integer> facetCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, RoaringBitmap> entry : ordered(facet).entrySet()) {
+                    facetCounts.put(entry.getKey(), RoaringBitmap.andCardinality(base, entry.getValue()));
+                }
+                counts.put(facet, facetCounts);
+            }
+            return new Result(matching, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String priceBucket(BigDecimal price) {
+        for (int i = PRICE_EDGES.length - 1; i > 0; i--) {
+            if (price.compareTo(BigDecimal.valueOf(PRICE_EDGES[i])) >= 0) {
+                return bucketLabel(i);
+            }
+        }
+        return bucketLabel(0);
+    }
+
+    private static String bucketLabel(int i) {
+        return i == PRICE_EDGES.length - 1
+                ? PRICE_EDGES[i] + "+"
+                : PRICE_EDGES[i] + "-" + PRICE_EDGES[i + 1];
+    }
+
+    private Map<String, RoaringBitmap> ordered(Facet facet) {
+        if (facet != Facet.PRICE) {
+            return bitmaps.get(facet);
+        }
+        // Price buckets read best in numeric order rather than by label
+        Map<String, RoaringBitmap> ordered = new LinkedHashMap<>();
+        for (int i = 0; i < PRICE_EDGES.length; i++) {
+            RoaringBitmap bitmap = bitmaps.get(facet).get(bucketLabel(i));
+            if (bitmap != null) {
+                ordered.put(bucketLabel(i), bitmap);
+            }
+        }
+        return ordered;
+    }
+
+    private RoaringBitmap union(Facet facet, Collection<String> selected) {
+        RoaringBitmap union = new RoaringBitmap();
+        for (String value : selected) {
+            RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private RoaringBitmap intersect(Map<Facet, RoaringBitmap> filters, Facet excluded) {
+        RoaringBitmap result = null;
+        for (Map.Entry<Facet, RoaringBitmap> entry : filters.entrySet()) {
+            if (entry.getKey() == excluded) {
+                continue;
+            }
+            result = result == null ? entry.getValue().clone() : RoaringBitmap.and(result, entry.getValue());
+        }
+        return result != null ? result : all.clone();
+    }
+
+    private void removeLocked(int id) {
+        String[] previous = valuesById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Facet facet : Facet.values()) {
+            String value = previous[facet.ordinal()];
+            if (value == null) {
+                continue;
+            }
+            RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    bitmaps.get(facet).remove(value);
+                }
+            }
+        }
+        all.remove(id);
+    }
+
+    /**
+     * Matching ids as a bitmap (owned by the caller) and per-facet value counts.
+     */
+    public static final class Result {
+        private final RoaringBitmap matching;
+        private final Map<Facet, Map<String, Integer>> counts;
+
+        Result(RoaringBitmap matching, Map<Facet, Map<String, Integer>> counts) {
+            this.matching = matching;
+            this.counts = counts;
+        }
+
+        public RoaringBitmap getMatching() {
+            return matching;
+        }
+
+        public Map<Facet, Map<String, Integer>> getCounts() {
+            return counts;
+        }
+    }
+}
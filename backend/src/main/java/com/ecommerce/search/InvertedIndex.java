@@ -0,0 +1,546 @@
+package com.ecommerce.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name and description with BM25F-style
+ * ranking. Documents get an internal ordinal in insertion order, so every
+ * postings list stays sorted and can be merged document-at-a-time. Updates are
+ * a delete (tombstone) plus an append; tombstones are compacted away once they
+ * make up a quarter of the index.
+ *
+ * <p>Single-term and sparse queries are merged document-at-a-time with a heap
+ * of postings cursors. Multi-term queries over many postings are scored
+ * term-at-a-time into a pooled score array instead, which avoids the
+ * per-posting heap work that dominates on very common terms.
+ *
+ * <p>Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float NAME_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    // Expanded prefix terms score slightly below an exact match
+    private static final float PREFIX_WEIGHT = 0.8f;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+    // Above this many postings a multi-term query is scored term-at-a-time
+    private static final int DENSE_POSTINGS_THRESHOLD = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Score accumulators for dense queries, reused across searches to avoid a large allocation per query
+    private final ConcurrentLinkedQueue<Accumulator> accumulators = new ConcurrentLinkedQueue<>();
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private long[] productIds = new long[1024];
+    private int[] nameLengths = new int[1024];
+    private int[] descriptionLengths = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int maxOrdinal;
+    private int liveDocs;
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    public void upsert(long productId, String name, String description) {
+        List<String> nameTokens = Tokenizer.tokenize(name);
+        List<String> descriptionTokens = Tokenizer.tokenize(description);
+        Map<String, int[]> termFreqs = new HashMap<>();
+        for (String token : nameTokens) {
+            termFreqs.computeIfAbsent(token, t -> new int[2])[0]++;
+        }
+        for (String token : descriptionTokens) {
+            termFreqs.computeIfAbsent(token, t -> new int[2])[1]++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            int ordinal = maxOrdinal++;
+            ensureCapacity(maxOrdinal);
+            productIds[ordinal] = productId;
+            nameLengths[ordinal] = nameTokens.size();
+            descriptionLengths[ordinal] = descriptionTokens.size();
+            ordinalById.put(productId, ordinal);
+            liveDocs++;
+            totalNameLength += nameTokens.size();
+            totalDescriptionLength += descriptionTokens.size();
+            for (Map.Entry<String, int[]> entry : termFreqs.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), t -> new Postings())
+                        .add(ordinal, entry.getValue()[0], entry.getValue()[1]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            ordinalById.clear();
+            deleted.clear();
+            maxOrdinal = 0;
+            liveDocs = 0;
+            totalNameLength = 0;
+            totalDescriptionLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks live documents against the query. Every query term is matched
+     * exactly; the last one is also expanded as a prefix so partially typed
+     * words still match.
+     */
+    public Result search(String query, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new Result(Collections.emptyList(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return new Result(Collections.emptyList(), 0);
+            }
+            List<Clause> clauses = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                Postings exact = terms.get(token);
+                if (exact != null) {
+                    clauses.add(new Clause(exact, idf(exact.size), 1.0f));
+                }
+                if (i == tokens.size() - 1) {
+                    addPrefixClauses(token, clauses);
+                }
+            }
+            return rank(clauses, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPrefixClauses(String prefix, List<Clause> clauses) {
+        List<Postings> expansions = new ArrayList<>();
+        for (Map.Entry<String, Postings> entry : terms.tailMap(prefix, false).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            expansions.add(entry.getValue());
+        }
+        if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+            // Keep the most common completions
+            expansions.sort((a, b) -> Integer.compare(b.size, a.size));
+            expansions = expansions.subList(0, MAX_PREFIX_EXPANSIONS);
+        }
+        for (Postings postings : expansions) {
+            clauses.add(new Clause(postings, idf(postings.size), PREFIX_WEIGHT));
+        }
+    }
+
+    private float idf(int docFreq) {
+        return (float) Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    private Result rank(List<Clause> clauses, int limit) {
+        if (clauses.isEmpty()) {
+            return new Result(Collections.emptyList(), 0);
+        }
+        float avgName = Math.max(1f, (float) totalNameLength / liveDocs);
+        float avgDescription = Math.max(1f, (float) totalDescriptionLength / liveDocs);
+
+        long totalPostings = 0;
+        int maxDoc = 0;
+        for (Clause clause : clauses) {
+            totalPostings += clause.size;
+            maxDoc = Math.max(maxDoc, clause.postings.docs[clause.size - 1]);
+        }
+        if (clauses.size() > 1 && totalPostings >= DENSE_POSTINGS_THRESHOLD) {
+            return rankDense(clauses, limit, maxDoc, avgName, avgDescription);
+        }
+        return rankSparse(clauses, limit, avgName, avgDescription);
+    }
+
+    private Result rankDense(List<Clause> clauses, int limit, int maxDoc, float avgName, float avgDescription) {
+        Accumulator acc = accumulators.poll();
+        if (acc == null || acc.scores.length <= maxDoc) {
+            acc = new Accumulator(Math.max(maxOrdinal, 1024));
+        }
+        float[] scores = acc.scores;
+        int[] touched = acc.touched;
+        int touchedCount = 0;
+        for (Clause clause : clauses) {
+            int[] docs = clause.postings.docs;
+            for (int i = 0; i < clause.size; i++) {
+                int doc = docs[i];
+                float previous = scores[doc];
+                if (previous == 0) {
+                    touched[touchedCount++] = doc;
+                }
+                scores[doc] = previous + clause.scoreAt(i, nameLengths[doc] / avgName, descriptionLengths[doc] / avgDescription);
+            }
+        }
+
+        TopK top = new TopK(limit);
+        int matches = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            float score = scores[doc];
+            // Reset while collecting so the arrays go back to the pool zeroed
+            scores[doc] = 0;
+            if (!deleted.get(doc)) {
+                matches++;
+                top.offer(doc, score);
+            }
+        }
+        accumulators.offer(acc);
+        return new Result(top.toHits(productIds), matches);
+    }
+
+    private Result rankSparse(List<Clause> clauses, int limit, float avgName, float avgDescription) {
+        // Min-heap of clauses keyed by their current document
+        int n = clauses.size();
+        Clause[] heap = clauses.toArray(new Clause[0]);
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(heap, i, n);
+        }
+
+        TopK top = new TopK(limit);
+        int matches = 0;
+        while (n > 0) {
+            int doc = heap[0].doc();
+            float score = 0;
+            while (n > 0 && heap[0].doc() == doc) {
+                Clause clause = heap[0];
+                score += clause.score(nameLengths[doc] / avgName, descriptionLengths[doc] / avgDescription);
+                if (clause.advance()) {
+                    siftDown(heap, 0, n);
+                } else {
+                    heap[0] = heap[--n];
+                    siftDown(heap, 0, n);
+                }
+            }
+            if (!deleted.get(doc)) {
+                matches++;
+                top.offer(doc, score);
+            }
+        }
+        return new Result(top.toHits(productIds), matches);
+    }
+
+    private static void siftDown(Clause[] heap, int i, int n) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= n) {
+                return;
+            }
+            int smallest = left;
+            if (left + 1 < n && heap[left + 1].doc() < heap[left].doc()) {
+                smallest = left + 1;
+            }
+            if (heap[i].doc() <= heap[smallest].doc()) {
+                return;
+            }
+            Clause tmp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = tmp;
+            i = smallest;
+        }
+    }
+
+    private void removeLocked(long productId) {
+        Integer ordinal = ordinalById.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        liveDocs--;
+        totalNameLength -= nameLengths[ordinal];
+        totalDescriptionLength -= descriptionLengths[ordinal];
+        int tombstones = maxOrdinal - liveDocs;
+        if (tombstones >= MIN_COMPACTION_TOMBSTONES && tombstones * 4 >= maxOrdinal) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops tombstoned ordinals and renumbers the rest densely, preserving order
+     * so postings stay sorted.
+     */
+    private void compact() {
+        int[] remap = new int[maxOrdinal];
+        int next = 0;
+        for (int ordinal = 0; ordinal < maxOrdinal; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = next;
+                productIds[next] = productIds[ordinal];
+                nameLengths[next] = nameLengths[ordinal];
+                descriptionLengths[next] = descriptionLengths[ordinal];
+                next++;
+            }
+        }
+        terms.values().removeIf(postings -> postings.compact(remap) == 0);
+        for (Map.Entry<Long, Integer> entry : ordinalById.entrySet()) {
+            entry.setValue(remap[entry.getValue()]);
+        }
+        deleted.clear();
+        maxOrdinal = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > productIds.length) {
+            int newLength = Math.max(capacity, productIds.length * 2);
+            productIds = Arrays.copyOf(productIds, newLength);
+            nameLengths = Arrays.copyOf(nameLengths, newLength);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, newLength);
+        }
+    }
+
+    /**
+     * Ranked product ids, best first, and the number of live documents that
+     * matched at least one query term.
+     */
+    public static final class Result {
+        private final List<Hit> hits;
+        private final int totalMatches;
+
+        Result(List<Hit> hits, int totalMatches) {
+            this.hits = hits;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotalMatches() {
+            return totalMatches;
+        }
+    }
+
+    public static final class Hit {
+        private final long productId;
+        private final float score;
+
+        Hit(long productId, float score) {
+            this.productId = productId;
+            this.score = score;
+        }
+
+        public long getProductId() {
+            return productId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Postings for one term: parallel arrays of ordinals and per-field term
+     * frequencies, appended in ordinal order.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] nameFreqs = new int[4];
+        private int[] descriptionFreqs = new int[4];
+        private int size;
+
+        void add(int doc, int nameFreq, int descriptionFreq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                nameFreqs = Arrays.copyOf(nameFreqs, size * 2);
+                descriptionFreqs = Arrays.copyOf(descriptionFreqs, size * 2);
+            }
+            docs[size] = doc;
+            nameFreqs[size] = nameFreq;
+            descriptionFreqs[size] = descriptionFreq;
+            size++;
+        }
+
+        int compact(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[docs[i]];
+                if (mapped >= 0) {
+                    docs[next] = mapped;
+                    nameFreqs[next] = nameFreqs[i];
+                    descriptionFreqs[next] = descriptionFreqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+
+    /**
+     * Cursor over one postings list during a query.
+     */
+    private static final class Clause {
+        private final Postings postings;
+        private final float idf;
+        private final float weight;
+        private final int size;
+        private int position;
+
+        Clause(Postings postings, float idf, float weight) {
+            this.postings = postings;
+            this.idf = idf;
+            this.weight = weight;
+            this.size = postings.size;
+        }
+
+        int doc() {
+            return postings.docs[position];
+        }
+
+        boolean advance() {
+            return ++position < size;
+        }
+
+        float score(float relativeNameLength, float relativeDescriptionLength) {
+            return scoreAt(position, relativeNameLength, relativeDescriptionLength);
+        }
+
+        float scoreAt(int i, float relativeNameLength, float relativeDescriptionLength) {
+            float tf = NAME_WEIGHT * postings.nameFreqs[i] / (1 - B + B * relativeNameLength)
+                    + DESCRIPTION_WEIGHT * postings.descriptionFreqs[i] / (1 - B + B * relativeDescriptionLength);
+            return weight * idf * tf / (K1 + tf);
+        }
+    }
+
+    /**
+     * Per-ordinal score array plus the list of ordinals that received a score.
+     */
+    private static final class Accumulator {
+        private final float[] scores;
+        private final int[] touched;
+
+        Accumulator(int capacity) {
+            scores = new float[capacity];
+            touched = new int[capacity];
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the best {@code k} (ordinal, score) pairs. On equal
+     * scores the lower ordinal ranks higher, so results do not depend on the
+     * order in which candidates are offered.
+     */
+    private static final class TopK {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            docs = new int[k];
+            scores = new float[k];
+        }
+
+        void offer(int doc, float score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && better(doc, score, docs[0], scores[0])) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> toHits(long[] productIds) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // Best score first; earlier ordinal wins ties
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                    ? Float.compare(scores[b], scores[a])
+                    : Integer.compare(docs[a], docs[b]));
+            List<Hit> hits = new ArrayList<>(size);
+            for (Integer i : order) {
+                hits.add(new Hit(productIds[docs[i]], scores[i]));
+            }
+            return hits;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(docs[parent], scores[parent], docs[i], scores[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left;
+                if (left + 1 < size && better(docs[left], scores[left], docs[left + 1], scores[left + 1])) {
+                    smallest = left + 1;
+                }
+                if (!better(docs[i], scores[i], docs[smallest], scores[smallest])) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private static boolean better(int doc, float score, int otherDoc, float otherScore) {
+            return score > otherScore || (score == otherScore && doc < otherDoc);
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
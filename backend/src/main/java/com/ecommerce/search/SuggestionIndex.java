@@ -0,0 +1,443 @@
+package com.ecommerce.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over product names, colors and categories. Each distinct suggestion
+ * is weighted by the stock of the products behind it and can be reached by any
+ * of its word-start suffixes, so "jea" finds "Slim Fit Jeans".
+ *
+ * <p>Keys live in a sorted array with a max segment tree over their weights:
+ * a prefix is a contiguous range, and the top-k of a range comes out of the
+ * tree in O(k log n) without visiting every match. Stock changes are point
+ * updates on the tree. Keys for suggestions that are new since the last
+ * compaction sit in a small sorted delta map that queries merge in, and are
+ * folded into the array once the delta grows past a fraction of it.
+ *
+ * <p>Thread-safe: queries share a read lock, updates take the write lock.
+ */
+public class SuggestionIndex {
+
+    public static final String NAME = "NAME";
+    public static final String COLOR = "COLOR";
+    public static final String CATEGORY = "CATEGORY";
+
+    private static final int MIN_DELTA = 1024;
+    private static final int MAX_DELTA = 16_384;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Suggestion table, indexed by suggestion id
+    private final Map<String, Integer> suggestionIds = new HashMap<>();
+    private String[] displays = new String[1024];
+    private String[] types = new String[1024];
+    private long[] weights = new long[1024];
+    private int suggestionCount;
+
+    // What each product currently contributes, so updates can be reversed
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+
+    // Compacted keys: sorted, with the suggestion each key points at
+    private String[] baseKeys = new String[0];
+    private int[] baseSuggestions = new int[0];
+    private int[] tree = new int[0];
+    private final Set<Integer> inBase = new HashSet<>();
+
+    // Keys added since the last compaction, as "key\0id" -> id
+    private final NavigableMap<String, Integer> delta = new TreeMap<>();
+
+    private boolean autoCompact = true;
+    private long compactions;
+
+    /**
+     * An empty index with automatic compaction suspended, for filling with
+     * {@link #upsert} before it is published. Call {@link #compact()} once the
+     * load is done, so the key array is sorted once rather than every time the
+     * delta fills up.
+     */
+    public static SuggestionIndex bulkLoad() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.autoCompact = false;
+        return index;
+    }
+
+    public void upsert(long productId, String name, String color, String category, int stock) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            long weight = 1L + Math.max(0, stock);
+            int[] ids = {
+                    add(NAME, name, weight),
+                    add(COLOR, color, weight),
+                    add(CATEGORY, category, weight)
+            };
+            contributions.put(productId, new Contribution(ids, weight));
+            if (autoCompact && delta.size() > deltaLimit()) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the index and suspends automatic compaction so a bulk load of
+     * {@link #upsert} calls does not rebuild the key array repeatedly. Call
+     * {@link #compact()} when the load is done; until then new suggestions are
+     * not searchable.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            suggestionIds.clear();
+            suggestionCount = 0;
+            contributions.clear();
+            baseKeys = new String[0];
+            baseSuggestions = new int[0];
+            tree = new int[0];
+            inBase.clear();
+            delta.clear();
+            autoCompact = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+            autoCompact = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * How many times the key array has been rebuilt.
+     */
+    public long compactionCount() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of keys in the compacted array.
+     */
+    public int keyCount() {
+        lock.readLock().lock();
+        try {
+            return baseKeys.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} suggestions with a word starting with {@code prefix},
+     * heaviest first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            List<Integer> candidates = new ArrayList<>();
+            topFromBase(key, limit, seen, candidates);
+            for (Integer id : delta.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+                if (weights[id] > 0 && seen.add(id)) {
+                    candidates.add(id);
+                }
+            }
+            candidates.sort((a, b) -> weights[a] != weights[b]
+                    ? Long.compare(weights[b], weights[a])
+                    : displays[a].compareTo(displays[b]));
+            List<Suggestion> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (int i = 0; i < candidates.size() && i < limit; i++) {
+                int id = candidates.get(i);
+                result.add(new Suggestion(displays[id], types[id], weights[id]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void topFromBase(String key, int limit, Set<Integer> seen, List<Integer> out) {
+        int lo = lowerBound(key);
+        int hi = lowerBound(key + Character.MAX_VALUE);
+        if (lo >= hi) {
+            return;
+        }
+        // Repeatedly take the heaviest key of a range and split the range around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Long.compare(keyWeight(b[2]), keyWeight(a[2])));
+        ranges.add(new int[]{lo, hi, argMax(lo, hi)});
+        int found = 0;
+        while (!ranges.isEmpty() && found < limit) {
+            int[] range = ranges.poll();
+            int pos = range[2];
+            if (keyWeight(pos) <= 0) {
+                break;
+            }
+            int id = baseSuggestions[pos];
+            if (seen.add(id)) {
+                out.add(id);
+                found++;
+            }
+            if (range[0] < pos) {
+                ranges.add(new int[]{range[0], pos, argMax(range[0], pos)});
+            }
+            if (pos + 1 < range[1]) {
+                ranges.add(new int[]{pos + 1, range[1], argMax(pos + 1, range[1])});
+            }
+        }
+    }
+
+    private int add(String type, String display, long weight) {
+        if (display == null || display.isBlank()) {
+            return -1;
+        }
+        String identity = type + '\0' + normalize(display.trim());
+        Integer id = suggestionIds.get(identity);
+        if (id == null) {
+            id = suggestionCount++;
+            ensureCapacity(suggestionCount);
+            displays[id] = display.trim();
+            types[id] = type;
+            weights[id] = 0;
+            suggestionIds.put(identity, id);
+        }
+        adjust(id, weight);
+        // During a bulk load compact() indexes every suggestion, so the delta is skipped
+        if (autoCompact && !inBase.contains(id)) {
+            for (String key : keysOf(displays[id])) {
+                delta.put(key + '\0' + id, id);
+            }
+        }
+        return id;
+    }
+
+    private void removeLocked(long productId) {
+        Contribution previous = contributions.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (int id : previous.suggestionIds) {
+            if (id >= 0) {
+                adjust(id, -previous.weight);
+            }
+        }
+    }
+
+    private void adjust(int id, long amount) {
+        weights[id] += amount;
+        if (inBase.contains(id)) {
+            for (String key : keysOf(displays[id])) {
+                for (int pos = lowerBound(key); pos < baseKeys.length && baseKeys[pos].equals(key); pos++) {
+                    if (baseSuggestions[pos] == id) {
+                        updateTree(pos);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the sorted key array from every live suggestion, dropping the
+     * ones whose weight fell to zero, and empties the delta.
+     */
+    private void compactLocked() {
+        List<String> keys = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        inBase.clear();
+        for (int id = 0; id < suggestionCount; id++) {
+            if (weights[id] <= 0) {
+                continue;
+            }
+            inBase.add(id);
+            for (String key : keysOf(displays[id])) {
+                keys.add(key);
+                owners.add(id);
+            }
+        }
+        KeyEntry[] entries = new KeyEntry[keys.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new KeyEntry(keys.get(i), owners.get(i));
+        }
+        Arrays.parallelSort(entries, (a, b) -> a.key.compareTo(b.key));
+        baseKeys = new String[entries.length];
+        baseSuggestions = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            baseKeys[i] = entries[i].key;
+            baseSuggestions[i] = entries[i].suggestion;
+        }
+        buildTree();
+        delta.clear();
+        compactions++;
+    }
+
+    private int deltaLimit() {
+        return Math.min(MAX_DELTA, Math.max(MIN_DELTA, baseKeys.length / 64));
+    }
+
+    // Iterative segment tree storing, per node, the position of the heaviest key below it
+    private void buildTree() {
+        int n = baseKeys.length;
+        tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    private void updateTree(int pos) {
+        int n = baseKeys.length;
+        for (int i = (pos + n) / 2; i > 0; i /= 2) {
+            tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    private int argMax(int lo, int hi) {
+        int n = baseKeys.length;
+        int best = lo;
+        for (int l = lo + n, r = hi + n; l < r; l /= 2, r /= 2) {
+            if ((l & 1) == 1) {
+                best = heavier(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = heavier(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        return keyWeight(b) > keyWeight(a) ? b : a;
+    }
+
+    private long keyWeight(int pos) {
+        return weights[baseSuggestions[pos]];
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = baseKeys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (baseKeys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > displays.length) {
+            int newLength = Math.max(capacity, displays.length * 2);
+            displays = Arrays.copyOf(displays, newLength);
+            types = Arrays.copyOf(types, newLength);
+            weights = Arrays.copyOf(weights, newLength);
+        }
+    }
+
+    /**
+     * Every word-start suffix of the normalized text: "slim fit jeans",
+     * "fit jeans" and "jeans".
+     */
+    private static List<String> keysOf(String display) {
+        List<String> tokens = Tokenizer.tokenize(display);
+        List<String> keys = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String joined = String.join(" ", Tokenizer.tokenize(text));
+        // Keep a trailing space so "slim " only matches whole words
+        return !joined.isEmpty() && Character.isWhitespace(text.charAt(text.length() - 1))
+                ? joined.toLowerCase(Locale.ROOT) + " "
+                : joined.toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Suggestion {
+        private final String text;
+        private final String type;
+        private final long weight;
+
+        Suggestion(String text, String type, long weight) {
+            this.text = text;
+            this.type = type;
+            this.weight = weight;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class KeyEntry {
+        private final String key;
+        private final int suggestion;
+
+        KeyEntry(String key, int suggestion) {
+            this.key = key;
+            this.suggestion = suggestion;
+        }
+    }
+
+    private static final class Contribution {
+        private final int[] suggestionIds;
+        private final long weight;
+
+        Contribution(int[] suggestionIds, long weight) {
+            this.suggestionIds = suggestionIds;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.service;
+
+/**
+ * Published once a bulk write that skipped per-product notifications (such as
+ * an import) has committed. Listeners that maintain derived indexes should
+ * rebuild them from the repository.
+ */
+public class CatalogReloadedEvent {
+    private final long products;
+
+    public CatalogReloadedEvent(long products) {
+        this.products = products;
+    }
+
+    /**
+     * Number of products written by the bulk operation.
+     */
+    public long getProducts() {
+        return products;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic revision of the whole catalog, bumped once per committed product
+ * write. Derived views (snapshots, validators) compare against it to decide
+ * whether they are still current.
+ */
+@Component
+public class CatalogRevision {
+
+    // Distinguishes revisions of this process from those of a previous run
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong revision = new AtomicLong();
+
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public long current() {
+        return revision.get();
+    }
+
+    public long bump() {
+        lastModified = System.currentTimeMillis();
+        return revision.incrementAndGet();
+    }
+
+    /**
+     * Time of the last committed write, in epoch millis.
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Strong ETag for any response that is fully determined by the request URL and
+     * the current catalog revision.
+     */
+    public String etag() {
+        return "\"" + epoch + "-" + revision.get() + "\"";
+    }
+}
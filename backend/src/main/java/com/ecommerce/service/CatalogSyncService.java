@@ -0,0 +1,242 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.SyncReport;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental sync of supplier catalogs. Products are keyed on (supplier,
+ * supplier id) and carry a hash of their supplier content, so a sync compares
+ * the feed against ids and hashes alone and writes only the inserts, updates
+ * and deletes; unchanged products are never loaded. Changes are applied in
+ * transactions of {@code catalog.import.batch-size}.
+ *
+ * <p>Stock is set on insert only: after that it belongs to the shop's own
+ * orders and is neither hashed nor overwritten.
+ *
+ * <p>Suppliers are synced on demand and, with {@code catalog.sync.enabled},
+ * every {@code catalog.sync.interval}. Each sync is timed as
+ * {@code catalog.sync} and its changes count in {@code catalog.sync.changes},
+ * both per supplier.
+ */
+@Service
+public class CatalogSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSyncService.class);
+
+    // Supplier name of the built-in catalog loaded by DataInitializer
+    public static final String SEED = "seed";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductChangeListener productChangeListener;
+
+    @Autowired
+    private FakeStoreService fakeStoreService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.sync.enabled:false}")
+    private boolean enabled;
+
+    @Value("${catalog.import.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${catalog.sync.interval:PT1H}",
+            initialDelayString = "${catalog.sync.initial-delay:PT10S}")
+    public void scheduledSync() {
+        if (enabled) {
+            syncSuppliers();
+        }
+    }
+
+    /**
+     * Fetches every supplier and syncs each one whose feed arrived complete.
+     */
+    public synchronized List<SyncReport> syncSuppliers() {
+        Map<String, List<Product>> catalogs = fakeStoreService.fetchSupplierCatalogs();
+        List<SyncReport> reports = new ArrayList<>();
+        for (String supplier : FakeStoreService.SUPPLIERS) {
+            List<Product> products = catalogs.get(supplier);
+            if (products == null) {
+                SyncReport skipped = new SyncReport(supplier);
+                skipped.setSkipped(true);
+                log.warn("Skipped sync of {}: feed unavailable", supplier);
+                reports.add(skipped);
+            } else {
+                reports.add(sync(supplier, products));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Makes the stored products of {@code supplier} match {@code incoming}, the
+     * supplier's complete current catalog. Every product needs a supplier id;
+     * duplicates keep the first occurrence.
+     */
+    public synchronized SyncReport sync(String supplier, List<Product> incoming) {
+        long start = System.nanoTime();
+        Map<String, Product> bySupplierId = new LinkedHashMap<>();
+        for (Product product : incoming) {
+            if (product.getSupplierId() == null) {
+                throw new IllegalArgumentException("Product '" + product.getName() + "' has no supplier id");
+            }
+            product.setSupplier(supplier);
+            product.setContentHash(contentHash(product));
+            bySupplierId.putIfAbsent(product.getSupplierId(), product);
+        }
+
+        SyncReport report = new SyncReport(supplier);
+        List<Change> changes = new ArrayList<>();
+        Map<String, Object[]> existing = new HashMap<>();
+        for (Object[] row : productRepository.findSyncState(supplier)) {
+            existing.put((String) row[1], row);
+        }
+        for (Product product : bySupplierId.values()) {
+            Object[] row = existing.remove(product.getSupplierId());
+            if (row == null) {
+                changes.add(new Change(null, product));
+                report.setInserted(report.getInserted() + 1);
+            } else if (!product.getContentHash().equals(row[2])) {
+                changes.add(new Change((Long) row[0], product));
+                report.setUpdated(report.getUpdated() + 1);
+            } else {
+                report.setUnchanged(report.getUnchanged() + 1);
+            }
+        }
+        // Whatever is left is no longer offered by the supplier
+        for (Object[] row : existing.values()) {
+            changes.add(new Change((Long) row[0], null));
+            report.setDeleted(report.getDeleted() + 1);
+        }
+
+        apply(changes);
+        long nanos = System.nanoTime() - start;
+        meterRegistry.timer("catalog.sync", "supplier", supplier).record(nanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("catalog.sync.changes", "supplier", supplier, "change", "inserted").increment(report.getInserted());
+        meterRegistry.counter("catalog.sync.changes", "supplier", supplier, "change", "updated").increment(report.getUpdated());
+        meterRegistry.counter("catalog.sync.changes", "supplier", supplier, "change", "deleted").increment(report.getDeleted());
+        report.setMillis(nanos / 1_000_000);
+        log.info("Synced {}: {} inserted, {} updated, {} deleted, {} unchanged in {} ms", supplier,
+                report.getInserted(), report.getUpdated(), report.getDeleted(), report.getUnchanged(),
+                report.getMillis());
+        return report;
+    }
+
+    private void apply(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // A delta that is large relative to the catalog refreshes caches and indexes
+        // once, since a full index rebuild then costs less than one update per product
+        boolean bulk = changes.size() > Math.max(batchSize, productRepository.count() / 10);
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<Change> batch = changes.subList(from, Math.min(changes.size(), from + batchSize));
+            if (bulk) {
+                productChangeListener.suppressed(() -> transactionTemplate.execute(status -> write(batch)));
+            } else {
+                transactionTemplate.execute(status -> write(batch));
+            }
+        }
+        if (bulk) {
+            productChangeListener.catalogReloaded(changes.size());
+        }
+    }
+
+    private Void write(List<Change> batch) {
+        for (Change change : batch) {
+            if (change.id == null) {
+                entityManager.persist(change.product);
+                continue;
+            }
+            Product current = entityManager.find(Product.class, change.id);
+            if (current == null) {
+                continue;
+            }
+            if (change.product == null) {
+                entityManager.remove(current);
+            } else {
+                Product source = change.product;
+                current.setName(source.getName());
+                current.setDescription(source.getDescription());
+                current.setPrice(source.getPrice());
+                current.setCategory(source.getCategory());
+                current.setGallery(source.getGallery());
+                current.setSize(source.getSize());
+                current.setColor(source.getColor());
+                current.setContentHash(source.getContentHash());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return null;
+    }
+
+    /**
+     * Hash of everything a supplier controls. Stock is left out on purpose.
+     */
+    static String contentHash(Product product) {
+        StringBuilder content = new StringBuilder();
+        append(content, product.getName());
+        append(content, product.getDescription());
+        BigDecimal price = product.getPrice();
+        append(content, price != null ? price.stripTrailingZeros().toPlainString() : null);
+        append(content, product.getCategory());
+        append(content, product.getGallery() != null ? String.join("\n", product.getGallery()) : null);
+        append(content, product.getSize());
+        append(content, product.getColor());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder content, String value) {
+        content.append(value != null ? value : "").append('\0');
+    }
+
+    // Insert when id is null, delete when product is null, otherwise update
+    private static final class Change {
+        private final Long id;
+        private final Product product;
+
+        Change(Long id, Product product) {
+            this.id = id;
+            this.product = product;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.DataInitializer;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the catalog after startup instead of before it. Once the application is
+ * ready, with the HTTP port already open, a background thread seeds the
+ * built-in products, reads the catalog once as {@link ProductSummary}
+ * projections (from the columnar file when it is current, see
+ * {@link ColumnarCatalogService#warmStart()}), and then builds the search, suggestion and facet indexes, the
+ * listing snapshots and the category caches in parallel from that single read.
+ * Every phase is timed.
+ *
+ * <p>Until the last phase has finished {@link #isReady()} is false, and
+ * {@link com.ecommerce.config.WarmupGateFilter} answers API requests with 503
+ * so no request sees a half-built index. The same state is published as the
+ * application's {@link ReadinessState}. A failed warm-up is retried with
+ * exponential backoff; once {@code catalog.warmup.max-attempts} have failed the
+ * application reports itself {@link LivenessState#BROKEN} so the orchestrator
+ * restarts it instead of leaving it refusing traffic forever.
+ */
+@Service
+public class CatalogWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogWarmup.class);
+
+    public enum Status {
+        STARTING, WARMING, READY, FAILED
+    }
+
+    @Autowired
+    private ObjectProvider<DataInitializer> dataInitializer;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductSuggestService productSuggestService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private CategorySnapshotService categorySnapshotService;
+
+    @Autowired
+    private ProductCatalogService productCatalogService;
+
+    @Autowired
+    private ColumnarCatalogService columnarCatalogService;
+
+    @Autowired
+    private CatalogRevision catalogRevision;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // 0 picks one thread per warm-up task, up to the number of processors
+    @Value("${catalog.warmup.threads:0}")
+    private int threads;
+
+    @Value("${catalog.warmup.max-attempts:5}")
+    private int maxAttempts;
+
+    // Doubled after every failed attempt, up to max-backoff
+    @Value("${catalog.warmup.backoff:PT2S}")
+    private Duration backoff;
+
+    @Value("${catalog.warmup.max-backoff:PT1M}")
+    private Duration maxBackoff;
+
+    private volatile Status status = Status.STARTING;
+    private volatile int attempt;
+    private volatile String error;
+    private volatile long totalMillis;
+    private final Map<String, Long> phaseMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::run, "catalog-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isReady() {
+        return status == Status.READY;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * The error of the last failed attempt, or null.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Milliseconds per finished phase, in the order they finished.
+     */
+    public Map<String, Long> getPhaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+
+    private void run() {
+        status = Status.WARMING;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        Duration delay = backoff;
+        for (attempt = 1; ; attempt++) {
+            if (warmUp()) {
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                status = Status.FAILED;
+                log.error("Catalog warm-up gave up after {} attempts, reporting the application as broken", attempt);
+                AvailabilityChangeEvent.publish(eventPublisher, this, LivenessState.BROKEN);
+                return;
+            }
+            log.warn("Retrying catalog warm-up in {} ms", delay.toMillis());
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = delay.multipliedBy(2);
+            if (delay.compareTo(maxBackoff) > 0) {
+                delay = maxBackoff;
+            }
+        }
+    }
+
+    // One attempt at every phase; the seed and the rebuilds replace what an earlier attempt left behind
+    private boolean warmUp() {
+        phaseMillis.clear();
+        long start = System.nanoTime();
+        try {
+            dataInitializer.ifAvailable(initializer -> timed("seed", initializer::seed));
+            // One projection read shared by every phase below; no entities are loaded
+            long revision = catalogRevision.current();
+            List<ProductSummary> mapped = columnarCatalogService.canWarmStart()
+                    ? timedResult("columnar", columnarCatalogService::warmStart)
+                    : null;
+            List<ProductSummary> products = mapped != null ? mapped : timedResult("load",
+                    () -> productRepository.findSummaries(null, ProductSort.ID.toSort(), 0, 0));
+
+            Map<String, Runnable> tasks = new LinkedHashMap<>();
+            tasks.put("search", () -> productSearchService.rebuild(products));
+            tasks.put("suggest", () -> productSuggestService.rebuild(products));
+            tasks.put("facets", () -> productFacetService.rebuild(products));
+            tasks.put("snapshots", () -> categorySnapshotService.warmUp(revision, products));
+            tasks.put("caches", () -> {
+                productCatalogService.getCategories();
+                productCatalogService.preload(revision, products);
+            });
+            tasks.put("counts", () -> logCounts(products));
+            runParallel(tasks);
+            // A write that committed after the shared read may have updated the indexes that were then
+            // replaced; rescan under each index's own lock, which also applies anything committed meanwhile
+            if (catalogRevision.current() != revision) {
+                Map<String, Runnable> rescans = new LinkedHashMap<>();
+                rescans.put("search-rescan", productSearchService::rebuild);
+                rescans.put("suggest-rescan", productSuggestService::rebuild);
+                rescans.put("facets-rescan", productFacetService::rebuild);
+                runParallel(rescans);
+            }
+
+            totalMillis = (System.nanoTime() - start) / 1_000_000;
+            error = null;
+            status = Status.READY;
+            log.info("Catalog warm-up complete in {} ms {}", totalMillis, getPhaseMillis());
+            return true;
+        } catch (Exception e) {
+            totalMillis = (System.nanoTime() - start) / 1_000_000;
+            error = e.toString();
+            log.error("Catalog warm-up attempt {} of {} failed after {} ms", attempt, maxAttempts, totalMillis, e);
+            return false;
+        }
+    }
+
+    private void runParallel(Map<String, Runnable> tasks) throws Exception {
+        int poolSize = threads > 0 ? threads : Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, poolSize), warmupThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            tasks.forEach((name, task) -> futures.add(executor.submit(() -> timed(name, task))));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void logCounts(List<ProductSummary> products) {
+        Map<String, Long> counts = products.stream()
+                .collect(Collectors.groupingBy(ProductSummary::getCategory, TreeMap::new, Collectors.counting()));
+        log.info("Catalog has {} products {}", products.size(), counts);
+    }
+
+    private void timed(String phase, Runnable task) {
+        timedResult(phase, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private <T> T timedResult(String phase, Supplier<T> task) {
+        long start = System.nanoTime();
+        T result = task.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        phaseMillis.put(phase, millis);
+        log.info("Warm-up phase {} took {} ms", phase, millis);
+        return result;
+    }
+
+    private static ThreadFactory warmupThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "catalog-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
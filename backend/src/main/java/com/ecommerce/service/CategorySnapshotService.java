@@ -0,0 +1,280 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, pre-serialized product listings: one UTF-8 JSON body per category
+ * plus one for the whole catalog, each with a strong ETag. Requests only ever
+ * read the current snapshot; a single background thread renders the next one
+ * and swaps it in atomically, so a catalog write never makes a request wait
+ * for a rebuild.
+ *
+ * <p>Changes to what a listing shows are coalesced for
+ * {@code catalog.snapshot.debounce} before the rebuild starts. Stock-only
+ * changes, which every reservation makes, do not trigger a rebuild of their
+ * own: the stock shown in listings is refreshed at most every
+ * {@code catalog.snapshot.stock-refresh}, and the detail view stays exact.
+ */
+@Service
+public class CategorySnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorySnapshotService.class);
+
+    public static final String ALL = "ALL";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogRevision catalogRevision;
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${catalog.snapshot.debounce:PT0.2S}")
+    private Duration debounce;
+
+    @Value("${catalog.snapshot.stock-refresh:PT30S}")
+    private Duration stockRefresh;
+
+    private volatile Snapshot snapshot;
+
+    private final Object rebuildLock = new Object();
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Next scheduled rebuild and when it is due (System.nanoTime), guarded by rebuildLock
+    private ScheduledFuture<?> pendingRebuild;
+    private long pendingDue;
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Installs a snapshot rendered from an already loaded, id-ordered catalog
+     * that was read at {@code revision}, ahead of the first request.
+     */
+    public void warmUp(long revision, List<ProductSummary> products) {
+        Snapshot warm = build(revision, products);
+        synchronized (rebuildLock) {
+            snapshot = warm;
+        }
+        // A write that committed after the catalog was read is not in this snapshot
+        if (catalogRevision.current() != revision) {
+            scheduleRebuild(debounce);
+        }
+    }
+
+    /**
+     * Listing for the given upper-case category, or for the whole catalog when
+     * {@link #ALL}. Unknown categories get the shared empty listing.
+     */
+    public Listing getListing(String category) {
+        Snapshot current = current();
+        Listing listing = current.listings.get(category);
+        return listing != null ? listing : current.empty;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) {
+            return;
+        }
+        Product product = event.getProduct();
+        ProductSummary listed = current.byId.get(product.getId());
+        if (!event.isRemoved() && listed != null && sameListingFields(listed, product)) {
+            if (!Objects.equals(listed.getStock(), product.getStock())) {
+                scheduleRebuild(stockRefresh);
+            }
+        } else {
+            scheduleRebuild(debounce);
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (enabled && snapshot != null) {
+            scheduleRebuild(debounce);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        // Only before the warm-up has installed one: nothing to serve in the meantime
+        synchronized (rebuildLock) {
+            if (snapshot == null) {
+                snapshot = build();
+            }
+            return snapshot;
+        }
+    }
+
+    // Brings the next rebuild forward to now + delay, unless one is already due by then
+    private void scheduleRebuild(Duration delay) {
+        long due = System.nanoTime() + delay.toNanos();
+        synchronized (rebuildLock) {
+            if (pendingRebuild != null && pendingDue <= due) {
+                return;
+            }
+            if (pendingRebuild != null) {
+                pendingRebuild.cancel(false);
+            }
+            pendingDue = due;
+            try {
+                pendingRebuild = rebuilder.schedule(this::rebuild, delay.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                pendingRebuild = null;
+            }
+        }
+    }
+
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            // Changes from here on schedule the next rebuild
+            pendingRebuild = null;
+        }
+        long start = System.nanoTime();
+        try {
+            Snapshot next = build();
+            synchronized (rebuildLock) {
+                if (snapshot == null || next.revision >= snapshot.revision) {
+                    snapshot = next;
+                }
+            }
+            log.debug("Rebuilt catalog snapshot at revision {} in {} ms", next.revision,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot rebuild failed, serving the previous one", e);
+            scheduleRebuild(stockRefresh);
+        }
+    }
+
+    private static boolean sameListingFields(ProductSummary listed, Product product) {
+        return Objects.equals(listed.getName(), product.getName())
+                && Objects.equals(listed.getDescription(), product.getDescription())
+                && listed.getPrice() != null && product.getPrice() != null
+                && listed.getPrice().compareTo(product.getPrice()) == 0
+                && Objects.equals(listed.getCategory(), product.getCategory())
+                // Product reports a missing image as ""
+                && Objects.equals(Objects.requireNonNullElse(listed.getImageUrl(), ""), product.getImageUrl())
+                && Objects.equals(listed.getSize(), product.getSize())
+                && Objects.equals(listed.getColor(), product.getColor());
+    }
+
+    private Snapshot build() {
+        // Read the revision first: a write committed during the build is also
+        // announced by its event, which schedules the next rebuild
+        long revision = catalogRevision.current();
+        return build(revision, productRepository.findSummaries(null, ProductSort.ID.toSort(), 0, 0));
+    }
+
+    private Snapshot build(long revision, List<ProductSummary> products) {
+        Map<String, List<ProductSummary>> byCategory = products.stream()
+                .collect(Collectors.groupingBy(ProductSummary::getCategory));
+
+        Map<String, Listing> listings = new HashMap<>();
+        listings.put(ALL, render(products));
+        byCategory.forEach((category, list) -> listings.put(category, render(list)));
+        Map<Long, ProductSummary> byId = new HashMap<>(products.size() * 2);
+        for (ProductSummary product : products) {
+            byId.put(product.getId(), product);
+        }
+        return new Snapshot(revision, Map.copyOf(listings), render(List.of()), byId);
+    }
+
+    private Listing render(List<ProductSummary> products) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            return new Listing(json, strongETag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog snapshot", e);
+        }
+    }
+
+    private static String strongETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Pre-rendered JSON body and its strong ETag. The byte array is shared and
+     * must not be modified.
+     */
+    public static final class Listing {
+        private final byte[] json;
+        private final String etag;
+
+        Listing(byte[] json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    private static final class Snapshot {
+        private final long revision;
+        private final Map<String, Listing> listings;
+        private final Listing empty;
+        // Listed fields per product id, to tell stock-only changes apart
+        private final Map<Long, ProductSummary> byId;
+
+        Snapshot(long revision, Map<String, Listing> listings, Listing empty, Map<Long, ProductSummary> byId) {
+            this.revision = revision;
+            this.listings = listings;
+            this.empty = empty;
+            this.byId = byId;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecommerce.service;
+
+import com.ecommerce.columnar.ColumnarCatalog;
+import com.ecommerce.columnar.ColumnarCatalogWriter;
+import com.ecommerce.dto.ColumnarExportReport;
+import com.ecommerce.dto.ProductPage;
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Exports the catalog to a {@link ColumnarCatalog} file and serves filtered
+ * listings from the mapped file. A read-only node pointed at an exported file
+ * answers these listings without loading the catalog into the heap or asking
+ * the database. Listings show the file as exported, stock included; a new
+ * export replaces it.
+ *
+ * <p>The file also gives {@link CatalogWarmup} a warm start: when it was
+ * exported from the table as it is now (same row count and newest
+ * {@code updated_at}), the warm-up reads the catalog from the mapping instead
+ * of querying the database. With {@code catalog.columnar.export-on-shutdown}
+ * a changed catalog is exported on the way down, so the next start finds a
+ * current file.
+ */
+@Service
+public class ColumnarCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarCatalogService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogRevision catalogRevision;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${catalog.columnar.path:data/catalog.columnar}")
+    private Path path;
+
+    @Value("${catalog.columnar.warm-start:true}")
+    private boolean warmStart;
+
+    @Value("${catalog.columnar.export-on-shutdown:false}")
+    private boolean exportOnShutdown;
+
+    private volatile ColumnarCatalog catalog;
+
+    public synchronized ColumnarExportReport export() throws IOException {
+        long start = System.nanoTime();
+        long revision = catalogRevision.current();
+        // Taken before the read: a write racing the export leaves the file looking stale, never current
+        long[] source = source();
+        List<ProductSummary> products = productRepository.findSummaries(null, ProductSort.ID.toSort(), 0, 0);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        long bytes = ColumnarCatalogWriter.write(path, products, revision, source[0], source[1]);
+        catalog = ColumnarCatalog.open(path);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Exported {} products to {} ({} KB) in {} ms", products.size(), path, bytes >> 10, millis);
+        return new ColumnarExportReport(path.toString(), products.size(), bytes, revision, millis);
+    }
+
+    /**
+     * Whether there is a file {@link #warmStart()} could use.
+     */
+    public boolean canWarmStart() {
+        return warmStart && Files.exists(path);
+    }
+
+    /**
+     * The whole catalog read from the mapped file, in id order, or null when
+     * the file is missing, unreadable or older than the {@code products} table.
+     * A current file is also what {@link #query} serves from then on.
+     */
+    public List<ProductSummary> warmStart() {
+        if (!canWarmStart()) {
+            return null;
+        }
+        ColumnarCatalog mapped;
+        try {
+            mapped = ColumnarCatalog.open(path);
+        } catch (IOException e) {
+            log.warn("Not warm-starting from {}: {}", path, e.getMessage());
+            return null;
+        }
+        long[] source = source();
+        if (mapped.getSourceRows() != source[0] || mapped.getSourceModified() != source[1]) {
+            log.info("Columnar catalog {} is older than the products table, loading from the database", path);
+            return null;
+        }
+        catalog = mapped;
+        int[] rows = new int[mapped.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        return mapped.summaries(rows, 0, rows.length);
+    }
+
+    @PreDestroy
+    public void exportIfChanged() {
+        if (!exportOnShutdown) {
+            return;
+        }
+        try {
+            ColumnarCatalog current = catalog;
+            long[] source = source();
+            if (current == null && Files.exists(path)) {
+                current = ColumnarCatalog.open(path);
+            }
+            if (current == null || current.getSourceRows() != source[0]
+                    || current.getSourceModified() != source[1]) {
+                export();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Columnar export on shutdown failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Page {@code query.page} of the products matching the query's filters, in
+     * the order of its {@code sort}. Keyset cursors are not supported.
+     */
+    public ProductPage query(ProductQuery query) throws IOException {
+        if (query.isKeyset()) {
+            throw new IllegalArgumentException("cursor is not supported on the columnar catalog; use page");
+        }
+        ColumnarCatalog current = current();
+        int[] rows = current.filter(query);
+        int page = query.resolvedPage();
+        int size = query.resolvedSize();
+        long offset = query.resolvedOffset();
+        List<ProductSummary> content = offset < rows.length
+                ? current.summaries(rows, (int) offset, size)
+                : List.of();
+        int totalPages = (rows.length + size - 1) / size;
+        return new ProductPage(content, page, size, rows.length, totalPages, page + 1 < totalPages);
+    }
+
+    // Row count and newest updated_at of the products table; every product write moves one of them
+    private long[] source() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), MAX(updated_at) FROM products", (rs, row) -> {
+            Timestamp modified = rs.getTimestamp(2);
+            long micros = modified != null ? modified.getTime() * 1000 + modified.getNanos() / 1000 % 1000 : 0;
+            return new long[]{rs.getLong(1), micros};
+        });
+    }
+
+    private ColumnarCatalog current() throws IOException {
+        ColumnarCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    if (!Files.exists(path)) {
+                        throw new IOException("No columnar catalog at " + path + "; export one first");
+                    }
+                    current = ColumnarCatalog.open(path);
+                    catalog = current;
+                }
+            }
+        }
+        return current;
+    }
+}
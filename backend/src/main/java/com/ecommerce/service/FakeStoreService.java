@@ -1,215 +1,276 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.DummyJsonProduct;
-import com.ecommerce.dto.DummyJsonResponse;
 import com.ecommerce.dto.FakeStoreProduct;
+import com.ecommerce.dto.ImportReport;
+import com.ecommerce.importer.JsonArraySource;
+import com.ecommerce.importer.ProductSource;
 import com.ecommerce.model.Product;
+import com.ecommerce.supplier.SupplierClient;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
+/**
+ * Pulls products from the DummyJSON and FakeStore supplier APIs. Every category
+ * and supplier request is issued at once through {@link SupplierClient}, which
+ * applies per-source deadlines, retries and circuit breaking, so a refresh
+ * takes about as long as the slowest source rather than the sum of all of them.
+ */
 @Service
 public class FakeStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeStoreService.class);
+    
+    // Supplier names, each with its own circuit breaker
+    public static final String DUMMYJSON = "dummyjson";
+    public static final String FAKESTORE = "fakestore";
+    public static final List<String> SUPPLIERS = List.of(DUMMYJSON, FAKESTORE);
     
-    private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final Random random = new Random();
     
+    @Autowired
+    private SupplierClient supplierClient;
+    
+    @Autowired
+    private ProductImportService productImportService;
+    
+    @Value("${supplier.dummyjson.base-url:https://dummyjson.com}")
+    private String dummyJsonBaseUrl;
+    
+    @Value("${supplier.dummyjson.url:https://dummyjson.com/products?limit=0}")
+    private String dummyJsonFeedUrl;
+    
+    @Value("${supplier.dummyjson.deadline:PT10S}")
+    private Duration dummyJsonDeadline;
+    
+    @Value("${supplier.fakestore.url:https://fakestoreapi.com/products}")
+    private String fakeStoreUrl;
+    
+    @Value("${supplier.fakestore.deadline:PT10S}")
+    private Duration fakeStoreDeadline;
+    
+    @Value("${catalog.import.batch-size:1000}")
+    private int importBatchSize;
+    
     private final String[] sizes = {"S", "M", "L", "XL", "XXL"};
     private final String[] colors = {"Black", "White", "Blue", "Red", "Gray", "Navy", "Beige", "Cream", "Charcoal", "Multicolor", "Green", "Brown", "Pink", "Yellow"};
     
     public FakeStoreService() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(15))
-                .build();
         this.objectMapper = new ObjectMapper();
     }
     
     public List<Product> fetchAndTransformProducts() {
+        long start = System.nanoTime();
+        
+        // Start every source at once; the fallbacks are only used if the primaries come up short
+        CompletableFuture<List<Product>> men = orEmpty(fetchDummyJsonCategory("mens-shirts", "MEN", 6));
+        CompletableFuture<List<Product>> women = orEmpty(fetchDummyJsonCategory("womens-dresses", "WOMEN", 6));
+        CompletableFuture<List<Product>> kids = orEmpty(fetchDummyJsonCategory("kids-wear", "KIDS", 6));
+        CompletableFuture<List<Product>> allDummyJson = orEmpty(fetchAllDummyJsonProducts());
+        CompletableFuture<List<Product>> fakeStore = orEmpty(fetchFromFakeStore());
+        CompletableFuture.allOf(men, women, kids, allDummyJson, fakeStore).join();
+        
         List<Product> allProducts = new ArrayList<>();
         
         // Try DummyJSON API first (has more products)
-        List<Product> dummyJsonProducts = fetchFromDummyJson();
+        List<Product> dummyJsonProducts = new ArrayList<>();
+        dummyJsonProducts.addAll(men.join());
+        dummyJsonProducts.addAll(women.join());
+        dummyJsonProducts.addAll(kids.join());
+        // If still not enough, use all products filtered by category
+        if (dummyJsonProducts.size() < 18) {
+            dummyJsonProducts.addAll(allDummyJson.join());
+        }
         if (!dummyJsonProducts.isEmpty()) {
             allProducts.addAll(dummyJsonProducts);
-            System.out.println("Fetched " + dummyJsonProducts.size() + " products from DummyJSON API");
+            log.info("Fetched {} products from DummyJSON API", dummyJsonProducts.size());
         }
         
-        // If we don't have enough, try FakeStore API as supplement
+        // If we don't have enough, use FakeStore API as supplement
         if (allProducts.size() < 40) {
-            List<Product> fakeStoreProducts = fetchFromFakeStore();
+            List<Product> fakeStoreProducts = fakeStore.join();
             if (!fakeStoreProducts.isEmpty()) {
                 allProducts.addAll(fakeStoreProducts);
-                System.out.println("Fetched " + fakeStoreProducts.size() + " additional products from FakeStore API");
+                log.info("Fetched {} additional products from FakeStore API", fakeStoreProducts.size());
             }
         }
         
-        System.out.println("Total products loaded: " + allProducts.size());
+        log.info("Total products loaded: {} in {} ms", allProducts.size(), (System.nanoTime() - start) / 1_000_000);
         long menCount = allProducts.stream().filter(p -> "MEN".equals(p.getCategory())).count();
         long womenCount = allProducts.stream().filter(p -> "WOMEN".equals(p.getCategory())).count();
         long kidsCount = allProducts.stream().filter(p -> "KIDS".equals(p.getCategory())).count();
-        System.out.println("MEN: " + menCount + ", WOMEN: " + womenCount + ", KIDS: " + kidsCount);
+        log.info("MEN: {}, WOMEN: {}, KIDS: {}", menCount, womenCount, kidsCount);
         
         return allProducts;
     }
     
-    private List<Product> fetchFromDummyJson() {
-        List<Product> products = new ArrayList<>();
-        try {
-            // Fetch exactly 6 products per category
-            products.addAll(fetchDummyJsonCategory("mens-shirts", "MEN", 6));
-            
-            // Fetch women's clothing
-            products.addAll(fetchDummyJsonCategory("womens-dresses", "WOMEN", 6));
-            
-            // Fetch kids products
-            products.addAll(fetchDummyJsonCategory("kids-wear", "KIDS", 6));
-            
-            // If still not enough, try fetching all products and filtering
-            if (products.size() < 18) {
-                products.addAll(fetchAllDummyJsonProducts());
+    /**
+     * The current catalog of every supplier whose feeds all arrived, keyed by
+     * supplier name, for {@link CatalogSyncService}. A supplier with any failed
+     * feed is left out, so a partial catalog is never mistaken for deletions.
+     * DummyJSON contributes its three apparel categories.
+     */
+    public Map<String, List<Product>> fetchSupplierCatalogs() {
+        List<CompletableFuture<List<Product>>> dummyJson = List.of(
+                fetchDummyJsonCategory("mens-shirts", "MEN", 6),
+                fetchDummyJsonCategory("womens-dresses", "WOMEN", 6),
+                fetchDummyJsonCategory("kids-wear", "KIDS", 6));
+        CompletableFuture<List<Product>> fakeStore = fetchFromFakeStore();
+        
+        Map<String, List<Product>> catalogs = new LinkedHashMap<>();
+        List<Product> dummyJsonProducts = new ArrayList<>();
+        boolean dummyJsonComplete = true;
+        for (CompletableFuture<List<Product>> category : dummyJson) {
+            List<Product> products = joinOrNull(category);
+            if (products == null) {
+                dummyJsonComplete = false;
+            } else {
+                dummyJsonProducts.addAll(products);
             }
-            
-        } catch (Exception e) {
-            System.err.println("Error fetching from DummyJSON API: " + e.getMessage());
         }
-        return products;
+        if (dummyJsonComplete) {
+            catalogs.put(DUMMYJSON, dummyJsonProducts);
+        }
+        List<Product> fakeStoreProducts = joinOrNull(fakeStore);
+        if (fakeStoreProducts != null) {
+            catalogs.put(FAKESTORE, fakeStoreProducts);
+        }
+        return catalogs;
     }
     
-    private List<Product> fetchAllDummyJsonProducts() {
-        List<Product> products = new ArrayList<>();
+    private static List<Product> joinOrNull(CompletableFuture<List<Product>> products) {
         try {
-            // Fetch all products with a high limit
-            String url = "https://dummyjson.com/products?limit=100";
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(15))
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200) {
-                DummyJsonResponse jsonResponse = objectMapper.readValue(response.body(), DummyJsonResponse.class);
-                if (jsonResponse.getProducts() != null) {
-                    // Filter for all relevant categories
-                    products = jsonResponse.getProducts().stream()
-                                   .filter(p -> {
-                                       String cat = p.getCategory() != null ? p.getCategory().toLowerCase() : "";
-                                       return cat.contains("shirt") || cat.contains("dress") ||
-                                              cat.contains("shoe") || cat.contains("bag") ||
-                                              cat.contains("watch") || cat.contains("jacket") ||
-                                              cat.contains("jean") || cat.contains("pant") ||
-                                              cat.contains("top") || cat.contains("skirt") ||
-                                              cat.contains("kid") || cat.contains("baby");
-                                   })
-                            .map(p -> {
-                                String category = "WOMEN";
-                                String cat = p.getCategory() != null ? p.getCategory().toLowerCase() : "";
-                                if (cat.contains("men") || cat.contains("mens")) {
-                                    category = "MEN";
-                                } else if (cat.contains("women") || cat.contains("womens")) {
-                                    category = "WOMEN";
-                                } else if (cat.contains("kid") || cat.contains("baby") || cat.contains("child")) {
-                                    category = "KIDS";
-                                } else {
-                                    // Default based on product type
-                                    category = (cat.contains("dress") || cat.contains("skirt") || cat.contains("bag")) ? "WOMEN" : "MEN";
-                                }
-                                return transformDummyJsonToProduct(p, category);
-                            })
-                            .collect(Collectors.toList());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error fetching all products from DummyJSON: " + e.getMessage());
+            return products.join();
+        } catch (CompletionException e) {
+            log.warn("Error fetching supplier products: {}", e.getCause().getMessage());
+            return null;
         }
-        return products;
     }
     
-    private List<Product> fetchDummyJsonCategory(String category, String targetCategory, int limit) {
-        List<Product> products = new ArrayList<>();
-        try {
-            String url = String.format("https://dummyjson.com/products/category/%s?limit=%d", category, limit);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200) {
-                DummyJsonResponse jsonResponse = objectMapper.readValue(response.body(), DummyJsonResponse.class);
-                if (jsonResponse.getProducts() != null) {
-                    products = jsonResponse.getProducts().stream()
-                            .map(p -> transformDummyJsonToProduct(p, targetCategory))
-                            .collect(Collectors.toList());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error fetching category " + category + ": " + e.getMessage());
+    /**
+     * Streams the full DummyJSON catalog ({@code supplier.dummyjson.url}) into
+     * the database through the batched importer. Products are transformed as
+     * they are parsed and never collected, so the feed size is bounded by the
+     * database rather than the heap.
+     */
+    public ImportReport ingestDummyJson() throws IOException {
+        return ingestDummyJson(dummyJsonFeedUrl);
+    }
+    
+    public ImportReport ingestDummyJson(String url) throws IOException {
+        try (InputStream body = supplierClient.open(DUMMYJSON, url, Duration.ofSeconds(30));
+             ProductSource source = new JsonArraySource<>(body, objectMapper, "products", DummyJsonProduct.class,
+                     this::transformDummyJsonCatalogProduct)) {
+            return productImportService.importProducts(source, importBatchSize);
         }
-        return products;
     }
     
-    private List<Product> fetchFromFakeStore() {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://fakestoreapi.com/products"))
-                    .timeout(Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() != 200) {
-                return List.of();
-            }
-            
-            FakeStoreProduct[] products = objectMapper.readValue(response.body(), FakeStoreProduct[].class);
-            
-            if (products == null || products.length == 0) {
-                return List.of();
-            }
-            
-            return Arrays.stream(products)
-                    .filter(p -> isClothingCategory(p.getCategory()))
-                    .map(this::transformFakeStoreToProduct)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            System.err.println("Error fetching from FakeStore API: " + e.getMessage());
+    private CompletableFuture<List<Product>> fetchAllDummyJsonProducts() {
+        // Fetch all products with a high limit
+        return fetch(DUMMYJSON, dummyJsonBaseUrl + "/products?limit=100", dummyJsonDeadline, "products",
+                DummyJsonProduct.class, this::transformDummyJsonCatalogProduct);
+    }
+    
+    private CompletableFuture<List<Product>> fetchDummyJsonCategory(String category, String targetCategory, int limit) {
+        String url = String.format("%s/products/category/%s?limit=%d", dummyJsonBaseUrl, category, limit);
+        return fetch(DUMMYJSON, url, dummyJsonDeadline, "products", DummyJsonProduct.class,
+                p -> transformDummyJsonToProduct(p, targetCategory));
+    }
+    
+    private CompletableFuture<List<Product>> fetchFromFakeStore() {
+        return fetch(FAKESTORE, fakeStoreUrl, fakeStoreDeadline, null, FakeStoreProduct.class,
+                p -> isClothingCategory(p.getCategory()) ? transformFakeStoreToProduct(p) : null);
+    }
+    
+    private <T> CompletableFuture<List<Product>> fetch(String supplier, String url, Duration deadline,
+                                                       String arrayField, Class<T> type,
+                                                       Function<T, Product> transform) {
+        return supplierClient.fetchProducts(supplier, url, deadline, arrayField, type, transform);
+    }
+    
+    // A source that fails for good yields an empty list so the others still count
+    private static CompletableFuture<List<Product>> orEmpty(CompletableFuture<List<Product>> products) {
+        return products.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            log.warn("Error fetching supplier products: {}", cause.getMessage());
             return List.of();
+        });
+    }
+    
+    /**
+     * Maps an entry of the full DummyJSON catalog onto MEN, WOMEN or KIDS, or
+     * returns null for categories that are not apparel.
+     */
+    Product transformDummyJsonCatalogProduct(DummyJsonProduct p) {
+        String cat = p.getCategory() != null ? p.getCategory().toLowerCase() : "";
+        boolean relevant = cat.contains("shirt") || cat.contains("dress") ||
+                           cat.contains("shoe") || cat.contains("bag") ||
+                           cat.contains("watch") || cat.contains("jacket") ||
+                           cat.contains("jean") || cat.contains("pant") ||
+                           cat.contains("top") || cat.contains("skirt") ||
+                           cat.contains("kid") || cat.contains("baby");
+        if (!relevant) {
+            return null;
         }
+        String category;
+        if (cat.contains("men") || cat.contains("mens")) {
+            category = "MEN";
+        } else if (cat.contains("women") || cat.contains("womens")) {
+            category = "WOMEN";
+        } else if (cat.contains("kid") || cat.contains("baby") || cat.contains("child")) {
+            category = "KIDS";
+        } else {
+            // Default based on product type
+            category = (cat.contains("dress") || cat.contains("skirt") || cat.contains("bag")) ? "WOMEN" : "MEN";
+        }
+        return transformDummyJsonToProduct(p, category);
     }
     
     // Public method to generate minimum products for each category
     public List<Product> generateMinimumProducts(int menNeeded, int womenNeeded, int kidsNeeded) {
+        return generateMinimumProducts(menNeeded, womenNeeded, kidsNeeded, random);
+    }
+    
+    /**
+     * Same as {@link #generateMinimumProducts(int, int, int)}, drawing prices,
+     * sizes, colors and stock from {@code random}: a seeded generator yields the
+     * same catalog on every run. Names repeat with a numeric suffix once a
+     * category's item list is used up.
+     */
+    public List<Product> generateMinimumProducts(int menNeeded, int womenNeeded, int kidsNeeded, Random random) {
         List<Product> products = new ArrayList<>();
         if (menNeeded > 0) {
-            products.addAll(generateGenericProducts("MEN", menNeeded));
+            products.addAll(generateGenericProducts("MEN", menNeeded, random));
         }
         if (womenNeeded > 0) {
-            products.addAll(generateGenericProducts("WOMEN", womenNeeded));
+            products.addAll(generateGenericProducts("WOMEN", womenNeeded, random));
         }
         if (kidsNeeded > 0) {
-            products.addAll(generateGenericProducts("KIDS", kidsNeeded));
+            products.addAll(generateGenericProducts("KIDS", kidsNeeded, random));
         }
         return products;
     }
     
-    private List<Product> generateGenericProducts(String category, int count) {
+    private List<Product> generateGenericProducts(String category, int count, Random random) {
         List<Product> products = new ArrayList<>();
         String[] menItems = {
             "Classic Cotton T-Shirt", "Slim Fit Jeans", "Casual Button Shirt", "Leather Jacket",
@@ -256,7 +317,7 @@ public class FakeStoreService {
         
         String[] descriptions = "KIDS".equals(category) ? kidsDescriptions : clothingDescriptions;
         
-        for (int i = 0; i < count && i < items.length; i++) {
+        for (int i = 0; i < count; i++) {
             String name = items[i % items.length] + (i > items.length - 1 ? " " + (i / items.length + 1) : "");
             String description = descriptions[random.nextInt(descriptions.length)];
             
@@ -370,7 +431,9 @@ public class FakeStoreService {
         return lowerCategory.contains("men") || lowerCategory.contains("women");
     }
     
-    private Product transformDummyJsonToProduct(DummyJsonProduct jsonProduct, String targetCategory) {
+    // The transforms are package-private for the JMH benchmarks in src/jmh/java
+    Product transformDummyJsonToProduct(DummyJsonProduct jsonProduct, String targetCategory) {
+        Random random = randomFor(jsonProduct.getId());
         String size = sizes[random.nextInt(sizes.length)];
         String color = colors[random.nextInt(colors.length)];
         Integer stock = jsonProduct.getStock() != null ? jsonProduct.getStock() : (15 + random.nextInt(86));
@@ -396,7 +459,7 @@ public class FakeStoreService {
         
         String description = jsonProduct.getDescription() != null ? jsonProduct.getDescription() : "High-quality product with excellent design.";
         
-        return new Product(
+        Product product = new Product(
             jsonProduct.getTitle() != null ? jsonProduct.getTitle() : "Product",
             description,
             BigDecimal.valueOf(jsonProduct.getPrice() != null ? jsonProduct.getPrice() : 29.99),
@@ -406,21 +469,25 @@ public class FakeStoreService {
             color,
             stock
         );
+        product.setSupplier(DUMMYJSON);
+        product.setSupplierId(jsonProduct.getId() != null ? jsonProduct.getId().toString() : null);
+        return product;
     }
     
-    private Product transformFakeStoreToProduct(FakeStoreProduct fakeProduct) {
+    Product transformFakeStoreToProduct(FakeStoreProduct fakeProduct) {
         String category = "MEN";
         if (fakeProduct.getCategory() != null && fakeProduct.getCategory().toLowerCase().contains("women")) {
             category = "WOMEN";
         }
         
+        Random random = randomFor(fakeProduct.getId());
         String size = sizes[random.nextInt(sizes.length)];
         String color = colors[random.nextInt(colors.length)];
         Integer stock = 15 + random.nextInt(86);
         
         String imageUrls = generateImageUrls(fakeProduct.getImage());
         
-        return new Product(
+        Product product = new Product(
             fakeProduct.getTitle(),
             fakeProduct.getDescription() != null ? fakeProduct.getDescription() : "High-quality product with excellent design.",
             BigDecimal.valueOf(fakeProduct.getPrice() != null ? fakeProduct.getPrice() : 0.0),
@@ -430,6 +497,15 @@ public class FakeStoreService {
             color,
             stock
         );
+        product.setSupplier(FAKESTORE);
+        product.setSupplierId(fakeProduct.getId() != null ? fakeProduct.getId().toString() : null);
+        return product;
+    }
+    
+    // Suppliers do not send size and color; derive them from the supplier id so a product
+    // gets the same values on every fetch and its content hash only moves when the supplier's does
+    private Random randomFor(Long supplierId) {
+        return supplierId != null ? new Random(supplierId) : random;
     }
     
     private String generateImageUrls(String baseImage) {
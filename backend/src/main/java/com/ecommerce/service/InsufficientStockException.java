@@ -0,0 +1,21 @@
+package com.ecommerce.service;
+
+/**
+ * Thrown when a reservation asks for more units than are in stock. The
+ * reservation transaction is rolled back, so no line of the order holds stock.
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long productId;
+
+    public InsufficientStockException(Long productId) {
+        super("Insufficient stock for product " + productId);
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,477 @@
+package com.ecommerce.service;
+
+import com.ecommerce.inventory.InventoryJournal;
+import com.ecommerce.inventory.StripedStock;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * In-memory inventory engine for flash sales, enabled with
+ * {@code inventory.write-behind.enabled}. Available stock per SKU lives in a
+ * {@link StripedStock}, so reservations on one hot SKU do not queue on its
+ * {@code products} row lock.
+ *
+ * <p>Every change is appended to a write-ahead journal by a single writer
+ * thread that group-commits: a reservation waits until its record is on disk,
+ * and one fsync covers everyone who arrived in the meantime. Releases do not
+ * wait, since losing one in a crash can only under-count stock. The same thread
+ * periodically folds the accumulated deltas into {@code products.stock} in one
+ * transaction that also advances the checkpoint sequence, then truncates the
+ * journal. On startup, journal records past the checkpoint are replayed into
+ * the table, so a crash loses nothing that was acknowledged.
+ *
+ * <p>While enabled, the counters own the stock: {@code products.stock} trails
+ * them by up to one flush interval. Stock written by anything else, such as an
+ * import or a supplier sync, is picked up by the writer thread: it compares the
+ * row with the stock it last flushed and moves the counter by the difference,
+ * so reservations in flight are kept.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private static final int MAX_BATCH = 4096;
+    private static final long FLUSH_MARKER = -1;
+    private static final long RESYNC_ALL = -2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductChangeListener productChangeListener;
+
+    @Value("${inventory.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.write-behind.flush-interval:PT0.2S}")
+    private Duration flushInterval;
+
+    @Value("${inventory.journal.path:data/inventory.wal}")
+    private String journalPath;
+
+    @Value("${inventory.stripes:0}")
+    private int stripes;
+
+    private final Map<Long, StripedStock> stocks = new ConcurrentHashMap<>();
+    // products.stock as of the last load or flush; only the writer thread moves it afterwards
+    private final Map<Long, Integer> stored = new ConcurrentHashMap<>();
+    private final BlockingQueue<Change> queue = new LinkedBlockingQueue<>();
+
+    // Owned by the writer thread once it is started
+    private InventoryJournal journal;
+    private long lastSeq;
+    private final Map<Long, Integer> pending = new HashMap<>();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path path = Paths.get(journalPath);
+        if (!enabled && !Files.exists(path)) {
+            return;
+        }
+        if (stripes <= 0) {
+            stripes = Math.max(2, 2 * Runtime.getRuntime().availableProcessors());
+        }
+        journal = new InventoryJournal(path);
+        recover();
+        if (enabled) {
+            running = true;
+            writer = new Thread(this::writeLoop, "inventory-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            journal.close();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes every line or none, then waits until the change is journaled. Call
+     * it outside a database transaction: the writer needs a pooled connection
+     * to flush, and callers holding them while they wait could starve it.
+     *
+     * @throws InsufficientStockException when a line is short; nothing is held then
+     * @throws IllegalStateException when the journal fails; nothing is held then either
+     * @throws NoSuchElementException when a product does not exist
+     */
+    public void reserve(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> taken = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            StripedStock stock = stockOf(line.getKey());
+            if (stock == null || !stock.tryTake(line.getValue())) {
+                for (Map.Entry<Long, Integer> undo : taken) {
+                    stocks.get(undo.getKey()).give(undo.getValue());
+                }
+                if (stock == null) {
+                    throw new NoSuchElementException("Unknown product " + line.getKey());
+                }
+                throw new InsufficientStockException(line.getKey());
+            }
+            taken.add(line);
+        }
+        CompletableFuture<Void> durable = null;
+        try {
+            durable = enqueue(quantities, -1, true);
+            await(durable);
+        } catch (RuntimeException e) {
+            for (Map.Entry<Long, Integer> line : taken) {
+                stocks.get(line.getKey()).give(line.getValue());
+            }
+            if (durable != null) {
+                // A reservation that timed out may still be journaled later; offset it if so
+                durable.thenRun(() -> enqueue(quantities, 1, false));
+            }
+            throw e;
+        }
+    }
+
+    public void release(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            StripedStock stock = stockOf(line.getKey());
+            if (stock != null) {
+                stock.give(line.getValue());
+            }
+        }
+        enqueue(quantities, 1, false);
+    }
+
+    /**
+     * Current available stock, or -1 for an unknown product.
+     */
+    public long available(Long productId) {
+        StripedStock stock = stockOf(productId);
+        return stock != null ? stock.total() : -1;
+    }
+
+    /**
+     * Blocks until every change journaled so far has been written to
+     * {@code products.stock}.
+     */
+    public void flush() {
+        if (writer != null) {
+            CompletableFuture<Void> flushed = new CompletableFuture<>();
+            queue.add(new Change(FLUSH_MARKER, 0, flushed, false));
+            await(flushed);
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Long id = event.getProduct().getId();
+        if (event.isRemoved()) {
+            stocks.remove(id);
+            stored.remove(id);
+            return;
+        }
+        // The writer's own flushes publish these too; their stock is already accounted for
+        if (writer == null || Thread.currentThread() == writer) {
+            return;
+        }
+        Integer last = stored.get(id);
+        if (last != null && !last.equals(event.getProduct().getStock())) {
+            queue.add(new Change(id, 0, null, true));
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (writer != null && !stocks.isEmpty()) {
+            queue.add(new Change(RESYNC_ALL, 0, null, true));
+        }
+    }
+
+    private StripedStock stockOf(Long productId) {
+        StripedStock stock = stocks.get(productId);
+        if (stock != null) {
+            return stock;
+        }
+        // Queried outside the map so a slow database does not block the map's bin
+        List<Integer> rows = jdbcTemplate.queryForList("SELECT stock FROM products WHERE id = ?",
+                Integer.class, productId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        StripedStock loaded = new StripedStock(Math.max(0, rows.get(0)), stripes);
+        StripedStock existing = stocks.putIfAbsent(productId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        stored.put(productId, rows.get(0));
+        return loaded;
+    }
+
+    private CompletableFuture<Void> enqueue(Map<Long, Integer> quantities, int sign, boolean wait) {
+        if (writer == null) {
+            throw new IllegalStateException("Inventory write-behind is disabled");
+        }
+        CompletableFuture<Void> durable = wait ? new CompletableFuture<>() : null;
+        int remaining = quantities.size();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            // The writer completes futures in queue order, so waiting on the last line covers all
+            queue.add(new Change(line.getKey(), sign * line.getValue(), --remaining == 0 ? durable : null, false));
+        }
+        return durable;
+    }
+
+    private static void await(CompletableFuture<Void> future) {
+        try {
+            future.get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the inventory journal", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Inventory journal unavailable", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<Change> batch = new ArrayList<>();
+        long nextFlush = System.nanoTime() + flushInterval.toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                Change first = queue.poll(Math.max(0, nextFlush - System.nanoTime()), TimeUnit.NANOSECONDS);
+                boolean flushRequested = false;
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    flushRequested = append(batch);
+                }
+                if (flushRequested || System.nanoTime() >= nextFlush) {
+                    flushToDatabase();
+                    nextFlush = System.nanoTime() + flushInterval.toNanos();
+                }
+                resync(batch);
+                for (Change change : batch) {
+                    if (change.productId == FLUSH_MARKER) {
+                        change.done.complete(null);
+                    }
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flushToDatabase();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("Failed to close inventory journal", e);
+        }
+    }
+
+    // Journals a batch with one fsync; returns whether it contained a flush request
+    private boolean append(List<Change> batch) {
+        boolean flushRequested = false;
+        try {
+            for (Change change : batch) {
+                if (change.productId == FLUSH_MARKER) {
+                    flushRequested = true;
+                } else if (!change.resync) {
+                    journal.append(++lastSeq, change.productId, change.delta);
+                }
+            }
+            journal.sync();
+            // Only a durable batch counts towards the table; a failed one was given back by its callers
+            for (Change change : batch) {
+                if (change.productId != FLUSH_MARKER && !change.resync) {
+                    pending.merge(change.productId, change.delta, Integer::sum);
+                    if (change.done != null) {
+                        change.done.complete(null);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Inventory journal write failed", e);
+            for (Change change : batch) {
+                if (change.done != null && change.productId != FLUSH_MARKER) {
+                    change.done.completeExceptionally(e);
+                }
+            }
+        }
+        return flushRequested;
+    }
+
+    private void flushToDatabase() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                applyDeltas(pending, lastSeq);
+                // Stock is a catalog field, so caches, ETags and indexes hear about it once per flush
+                for (Product product : productRepository.findAllById(pending.keySet())) {
+                    productChangeListener.onProductSaved(product);
+                }
+            });
+            pending.forEach((id, delta) -> stored.computeIfPresent(id, (key, stock) -> stock + delta));
+            pending.clear();
+            journal.truncate();
+        } catch (RuntimeException | IOException e) {
+            // Deltas stay pending and are retried on the next flush; the journal still has them
+            log.warn("Inventory write-behind failed, retrying on the next flush", e);
+        }
+    }
+
+    /**
+     * Moves the counters by whatever changed {@code products.stock} behind the
+     * writer's back. Runs on the writer thread, between flushes, so the only
+     * difference between a row and {@link #stored} is that outside write.
+     */
+    private void resync(List<Change> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (Change change : batch) {
+            if (change.resync) {
+                if (change.productId == RESYNC_ALL) {
+                    ids.addAll(stored.keySet());
+                    break;
+                }
+                ids.add(change.productId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> rows = new HashMap<>();
+        List<Long> all = new ArrayList<>(ids);
+        try {
+            for (int from = 0; from < all.size(); from += 1000) {
+                List<Long> chunk = all.subList(from, Math.min(all.size(), from + 1000));
+                String marks = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                jdbcTemplate.query("SELECT id, stock FROM products WHERE id IN (" + marks + ")",
+                        rs -> { rows.put(rs.getLong(1), rs.getInt(2)); }, chunk.toArray());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not re-read stock of {} products, keeping their counters", ids.size(), e);
+            return;
+        }
+        int moved = 0;
+        for (Long id : ids) {
+            Integer now = rows.get(id);
+            if (now == null) {
+                stocks.remove(id);
+                stored.remove(id);
+                continue;
+            }
+            Integer last = stored.put(id, now);
+            StripedStock stock = stocks.get(id);
+            if (last == null || stock == null || last.equals(now)) {
+                continue;
+            }
+            int difference = now - last;
+            if (difference > 0) {
+                stock.give(difference);
+            } else {
+                stock.takeUpTo(-difference);
+            }
+            moved++;
+        }
+        if (moved > 0) {
+            log.info("Picked up outside stock changes for {} products", moved);
+        }
+    }
+
+    private void recover() throws IOException {
+        // The table and its single row come from the V2 migration
+        long checkpoint = jdbcTemplate.queryForObject("SELECT seq FROM inventory_checkpoint WHERE id = 1", Long.class);
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        long maxSeq = checkpoint;
+        int replayed = 0;
+        for (InventoryJournal.Record record : journal.readAll()) {
+            if (record.getSeq() > checkpoint) {
+                deltas.merge(record.getProductId(), record.getDelta(), Integer::sum);
+                maxSeq = Math.max(maxSeq, record.getSeq());
+                replayed++;
+            }
+        }
+        if (!deltas.isEmpty()) {
+            long seq = maxSeq;
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> applyDeltas(deltas, seq));
+            log.info("Replayed {} inventory journal records up to seq {}", replayed, seq);
+        }
+        lastSeq = maxSeq;
+        journal.truncate();
+    }
+
+    private void applyDeltas(Map<Long, Integer> deltas, long seq) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[]{delta, now, id});
+            }
+        });
+        jdbcTemplate.batchUpdate("UPDATE products SET stock = stock + ?, version = version + 1, updated_at = ? "
+                + "WHERE id = ?", rows);
+        jdbcTemplate.update("UPDATE inventory_checkpoint SET seq = ? WHERE id = 1", seq);
+    }
+
+    private static final class Change {
+        private final long productId;
+        private final int delta;
+        private final CompletableFuture<Void> done;
+        private final boolean resync;
+
+        Change(long productId, int delta, CompletableFuture<Void> done, boolean resync) {
+            this.productId = productId;
+            this.delta = delta;
+            this.done = done;
+            this.resync = resync;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.OrderRequest;
+import com.ecommerce.model.CustomerOrder;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * Server-side cart and checkout. Placing an order reserves its stock with one
+ * conditional UPDATE per line, so the database arbitrates between concurrent
+ * buyers and stock never goes negative; an order either reserves every line or
+ * none. Reservations expire after {@code orders.reservation.ttl} unless
+ * confirmed, and {@link ReservationSweeper} gives their stock back.
+ *
+ * <p>With {@code inventory.write-behind.enabled} stock is taken from the
+ * {@link InventoryService} counters instead, and the order row is written
+ * afterwards; a failed insert hands the stock back.
+ */
+@Service
+public class OrderService {
+
+    private static final int MAX_LINES = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductChangeListener productChangeListener;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${orders.reservation.ttl:15m}")
+    private Duration reservationTtl;
+
+    public CustomerOrder reserve(OrderRequest request) {
+        Map<Long, Integer> quantities = merge(request);
+        if (!inventoryService.isEnabled()) {
+            return transactionTemplate.execute(status -> reserveInDatabase(quantities));
+        }
+        // Waits for the journal before a connection is taken, see InventoryService#reserve
+        inventoryService.reserve(quantities);
+        try {
+            return transactionTemplate.execute(status ->
+                    saveOrder(productRepository.findAllById(quantities.keySet()), quantities));
+        } catch (RuntimeException e) {
+            inventoryService.release(quantities);
+            throw e;
+        }
+    }
+
+    @Transactional
+    public CustomerOrder confirm(Long orderId) {
+        if (orderRepository.confirm(orderId, Instant.now()) == 0) {
+            CustomerOrder order = find(orderId);
+            throw new IllegalStateException(order.getStatus() == OrderStatus.RESERVED
+                    ? "Reservation for order " + orderId + " has expired"
+                    : "Order " + orderId + " is " + order.getStatus());
+        }
+        return find(orderId);
+    }
+
+    @Transactional
+    public CustomerOrder cancel(Long orderId) {
+        if (!release(orderId, OrderStatus.CANCELLED)) {
+            throw new IllegalStateException("Order " + orderId + " is " + find(orderId).getStatus());
+        }
+        return find(orderId);
+    }
+
+    /**
+     * Releases a reservation whose time is up. Returns false when the order was
+     * confirmed or released in the meantime.
+     */
+    @Transactional
+    public boolean expire(Long orderId) {
+        return release(orderId, OrderStatus.EXPIRED);
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerOrder find(Long orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new NoSuchElementException("Unknown order " + orderId));
+    }
+
+    private CustomerOrder reserveInDatabase(Map<Long, Integer> quantities) {
+        Instant now = Instant.now();
+        // Lock rows in id order so two multi-line orders cannot deadlock each other
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            if (productRepository.reserveStock(line.getKey(), line.getValue(), now) == 0) {
+                if (!productRepository.existsById(line.getKey())) {
+                    throw new NoSuchElementException("Unknown product " + line.getKey());
+                }
+                throw new InsufficientStockException(line.getKey());
+            }
+        }
+        return saveOrder(stockChanged(quantities), quantities);
+    }
+
+    private CustomerOrder saveOrder(List<Product> products, Map<Long, Integer> quantities) {
+        Instant now = Instant.now();
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        for (Product product : products) {
+            items.add(new OrderItem(product.getId(), product.getName(), product.getPrice(),
+                    quantities.get(product.getId())));
+        }
+        return orderRepository.save(new CustomerOrder(items, now, now.plus(reservationTtl)));
+    }
+
+    private boolean release(Long orderId, OrderStatus status) {
+        if (orderRepository.release(orderId, status) == 0) {
+            find(orderId);
+            return false;
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : find(orderId).getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        if (inventoryService.isEnabled()) {
+            // Only give the stock back once the status change has committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inventoryService.release(quantities);
+                }
+            });
+            return true;
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            productRepository.releaseStock(line.getKey(), line.getValue(), now);
+        }
+        stockChanged(quantities);
+        return true;
+    }
+
+    // Bulk updates skip entity callbacks, so tell the catalog caches and indexes directly
+    private List<Product> stockChanged(Map<Long, Integer> quantities) {
+        List<Product> products = productRepository.findAllById(quantities.keySet());
+        for (Product product : products) {
+            productChangeListener.onProductSaved(product);
+        }
+        return products;
+    }
+
+    private static Map<Long, Integer> merge(OrderRequest request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("items must not be empty");
+        }
+        if (request.getItems().size() > MAX_LINES) {
+            throw new IllegalArgumentException("at most " + MAX_LINES + " items per order");
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderRequest.Line line : request.getItems()) {
+            if (line == null || line.getProductId() == null) {
+                throw new IllegalArgumentException("productId is required");
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("quantity must be positive");
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.dto.ProductSort;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache in front of {@link ProductRepository} for the hot read paths.
+ * Entries are dropped by {@link ProductChangeListener} whenever a product is
+ * saved or deleted.
+ */
+@Service
+public class ProductCatalogService {
+
+    private static final List<String> CATEGORY_ORDER = List.of("MEN", "WOMEN", "KIDS");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogRevision catalogRevision;
+
+    // Misses are not cached so a newly inserted id is visible immediately. Cached
+    // entries carry the full gallery since they back the detail view.
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, unless = "#result == null")
+    public Optional<Product> findById(Long id) {
+        return productRepository.findWithGalleryById(id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY)
+    public List<ProductSummary> findByCategory(String category) {
+        return List.copyOf(productRepository.findSummaries(ProductSpecifications.inCategory(category),
+                ProductSort.ID.toSort(), 0, 0));
+    }
+
+    /**
+     * Fills the category listing cache from an already loaded, id-ordered
+     * catalog read at {@code revision}. Skipped if the catalog has moved on
+     * since, so an eviction is never overwritten with older rows.
+     */
+    public void preload(long revision, List<ProductSummary> products) {
+        Map<String, List<ProductSummary>> byCategory = products.stream()
+                .collect(Collectors.groupingBy(ProductSummary::getCategory));
+        Cache listings = cacheManager.getCache(CacheConfig.PRODUCTS_BY_CATEGORY);
+        if (listings == null || catalogRevision.current() != revision) {
+            return;
+        }
+        byCategory.forEach((category, list) -> listings.put(category, List.copyOf(list)));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
+    public List<String> getCategories() {
+        List<String> present = productRepository.findDistinctCategories();
+        List<String> categories = new ArrayList<>();
+        for (String category : CATEGORY_ORDER) {
+            if (present.contains(category)) {
+                categories.add(category);
+            }
+        }
+        for (String category : present) {
+            if (!categories.contains(category)) {
+                categories.add(category);
+            }
+        }
+        // Keep the storefront tabs stable while the catalog is still loading
+        return categories.isEmpty() ? CATEGORY_ORDER : List.copyOf(categories);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.model.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * JPA entity listener on {@link Product} that evicts the catalog cache on every
+ * insert, update and delete, including writes made directly through
+ * ProductRepository. Eviction runs immediately and again after commit so a
+ * concurrent reader cannot re-populate the cache with pre-commit data. The
+ * {@link CatalogRevision} is only bumped, and a {@link ProductChangedEvent}
+ * published, once the write is visible.
+ *
+ * <p>Bulk JPQL updates bypass entity callbacks; code issuing them (such as stock
+ * reservations) calls {@link #onProductSaved} itself with the reloaded product.
+ * Bulk loads run inside {@link #suppressed} instead and finish with a single
+ * {@link #catalogReloaded}.
+ */
+@Component
+public class ProductChangeListener {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogRevision catalogRevision;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    @PostPersist
+    @PostUpdate
+    public void onProductSaved(Product product) {
+        onProductChanged(product, false);
+    }
+
+    @PostRemove
+    public void onProductRemoved(Product product) {
+        onProductChanged(product, true);
+    }
+
+    /**
+     * Runs {@code work} without per-product eviction or events on this thread.
+     * The caller must follow up with {@link #catalogReloaded} once it commits.
+     */
+    public <T> T suppressed(Supplier<T> work) {
+        Boolean previous = SUPPRESSED.get();
+        SUPPRESSED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            SUPPRESSED.set(previous);
+        }
+    }
+
+    /**
+     * Clears the catalog caches, bumps the revision once and tells the derived
+     * indexes to rebuild after a bulk write.
+     */
+    public void catalogReloaded(long products) {
+        clear(CacheConfig.PRODUCTS);
+        clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+        clear(CacheConfig.CATEGORIES);
+        catalogRevision.bump();
+        eventPublisher.publishEvent(new CatalogReloadedEvent(products));
+    }
+
+    private void onProductChanged(Product product, boolean removed) {
+        if (SUPPRESSED.get() != null) {
+            return;
+        }
+        Long id = product.getId();
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                    committed(product, removed);
+                }
+            });
+        } else {
+            committed(product, removed);
+        }
+    }
+
+    private void committed(Product product, boolean removed) {
+        catalogRevision.bump();
+        eventPublisher.publishEvent(new ProductChangedEvent(product, removed));
+    }
+
+    private void evict(Long id) {
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (products != null && id != null) {
+            products.evict(id);
+        }
+        clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+        clear(CacheConfig.CATEGORIES);
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
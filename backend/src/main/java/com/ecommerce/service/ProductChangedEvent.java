@@ -0,0 +1,26 @@
+package com.ecommerce.service;
+
+import com.ecommerce.model.Product;
+
+/**
+ * Published by {@link ProductChangeListener} once a product insert, update or
+ * delete has committed. Listeners that maintain derived indexes should treat it
+ * as an idempotent upsert (or removal) of the given product.
+ */
+public class ProductChangedEvent {
+    private final Product product;
+    private final boolean removed;
+
+    public ProductChangedEvent(Product product, boolean removed) {
+        this.product = product;
+        this.removed = removed;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
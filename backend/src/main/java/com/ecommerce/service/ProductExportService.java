@@ -0,0 +1,80 @@
+package com.ecommerce.service;
+
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the catalog as newline-delimited JSON, one product per line in id
+ * order, for feed partners and the search indexer. Products are read from a
+ * database cursor and detached once written, so memory stays flat however
+ * large the catalog is. An interrupted export resumes from the last id the
+ * consumer received.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${catalog.export.flush-every:1000}")
+    private int flushEvery;
+
+    /**
+     * Writes every product with an id greater than {@code afterId} to
+     * {@code out} and returns how many were written. The stream is flushed
+     * every {@code catalog.export.flush-every} products, not closed.
+     */
+    @Transactional(readOnly = true)
+    public long writeNdjson(long afterId, OutputStream out) throws IOException {
+        // Flushing per product would send one chunk (and one gzip block) per line
+        ObjectWriter writer = objectMapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+        long start = System.nanoTime();
+        try (Stream<Product> products = productRepository.streamAfter(afterId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines end in our own newline instead of Jackson's space between root values
+            generator.setRootValueSeparator(null);
+            Iterator<Product> it = products.iterator();
+            while (it.hasNext()) {
+                Product product = it.next();
+                writer.writeValue(generator, product);
+                generator.writeRaw('\n');
+                // Read-only and already written: nothing left to keep in the persistence context
+                entityManager.detach(product);
+                if (++written % Math.max(1, flushEvery) == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} products after id {} in {} ms", written, afterId,
+                (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+}
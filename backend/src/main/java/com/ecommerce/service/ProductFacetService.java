@@ -0,0 +1,105 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductFacetResult;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.FacetIndex;
+import org.roaringbitmap.IntIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Facet filtering and counts for the shop sidebar, answered from bitmaps in
+ * memory instead of one GROUP BY per facet. Built once from the repository during
+ * {@link CatalogWarmup} or when the catalog is reloaded, then maintained from
+ * {@link ProductChangedEvent}s.
+ */
+@Service
+public class ProductFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Replaced wholesale by a rebuild, so readers see either the old or the new index, never a partial one
+    private volatile FacetIndex index = new FacetIndex();
+
+    // Holds the lock across the scan, so a change committed meanwhile is applied to the new index after the swap
+    @EventListener(CatalogReloadedEvent.class)
+    public synchronized void rebuild() {
+        rebuild(productRepository.findSummaries(null, null, 0, 0));
+    }
+
+    /**
+     * Rebuilds from an already loaded catalog, so a warm-up can share one scan
+     * between indexes. Summaries carry every indexed field without the cost of
+     * loading entities.
+     */
+    public synchronized void rebuild(List<ProductSummary> products) {
+        long start = System.nanoTime();
+        FacetIndex next = new FacetIndex();
+        for (ProductSummary product : products) {
+            next.upsert(product.getId(), product.getCategory(), product.getSize(), product.getColor(),
+                    product.getPrice());
+        }
+        next.optimize();
+        index = next;
+        log.info("Facet index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (event.isRemoved()) {
+            index.remove(event.getProduct().getId());
+        } else {
+            upsert(event.getProduct());
+        }
+    }
+
+    /**
+     * Values are ORed within a facet and the facets ANDed; null or empty lists
+     * leave a facet unfiltered. At most {@code limit} ids are returned, in
+     * ascending order, while the total and the counts cover every match.
+     */
+    public ProductFacetResult facets(List<String> categories, List<String> sizes, List<String> colors,
+                                     List<String> prices, int limit) {
+        Map<FacetIndex.Facet, List<String>> selections = new EnumMap<>(FacetIndex.Facet.class);
+        if (categories != null) {
+            List<String> upper = new ArrayList<>(categories.size());
+            for (String category : categories) {
+                upper.add(category.toUpperCase(Locale.ROOT));
+            }
+            selections.put(FacetIndex.Facet.CATEGORY, upper);
+        }
+        selections.put(FacetIndex.Facet.SIZE, sizes);
+        selections.put(FacetIndex.Facet.COLOR, colors);
+        selections.put(FacetIndex.Facet.PRICE, prices);
+
+        FacetIndex.Result result = index.query(selections);
+        List<Long> ids = new ArrayList<>(Math.min(limit, result.getMatching().getCardinality()));
+        IntIterator it = result.getMatching().getIntIterator();
+        while (it.hasNext() && ids.size() < limit) {
+            ids.add((long) it.next());
+        }
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.getCounts().forEach((facet, counts) -> facets.put(facet.name().toLowerCase(Locale.ROOT), counts));
+        return new ProductFacetResult(result.getMatching().getCardinality(), ids, facets);
+    }
+
+    private void upsert(Product product) {
+        index.upsert(product.getId(), product.getCategory(), product.getSize(), product.getColor(),
+                product.getPrice());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductSearchResult;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductSpecifications;
+import com.ecommerce.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text product search over name and description. The index is built from
+ * the repository by {@link CatalogWarmup} (and again on a
+ * {@link CatalogReloadedEvent}) and kept current from
+ * {@link ProductChangedEvent}s after that.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Replaced wholesale by a rebuild, so readers see either the old or the new index, never a partial one
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    // Holds the lock across the scan, so a change committed meanwhile is applied to the new index after the swap
+    @EventListener(CatalogReloadedEvent.class)
+    public synchronized void rebuild() {
+        rebuild(productRepository.findSummaries(null, null, 0, 0));
+    }
+
+    /**
+     * Rebuilds from an already loaded catalog, so a warm-up can share one scan
+     * between indexes. Summaries carry every indexed field without the cost of
+     * loading entities.
+     */
+    public synchronized void rebuild(List<ProductSummary> products) {
+        long start = System.nanoTime();
+        InvertedIndex next = new InvertedIndex();
+        for (ProductSummary product : products) {
+            next.upsert(product.getId(), product.getName(), product.getDescription());
+        }
+        index = next;
+        log.info("Search index built with {} products in {} ms", index.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        if (event.isRemoved()) {
+            index.remove(product.getId());
+        } else {
+            index.upsert(product.getId(), product.getName(), product.getDescription());
+        }
+    }
+
+    public ProductSearchResult search(String query, int limit) {
+        InvertedIndex.Result result = index.search(query, limit);
+        List<Long> ids = result.getHits().stream().map(InvertedIndex.Hit::getProductId).collect(Collectors.toList());
+        Map<Long, ProductSummary> products = ids.isEmpty() ? Map.of() : productRepository
+                .findSummaries(ProductSpecifications.idIn(ids), null, 0, 0).stream()
+                .collect(Collectors.toMap(ProductSummary::getId, Function.identity()));
+
+        List<ProductSearchResult.Hit> hits = new ArrayList<>(ids.size());
+        for (InvertedIndex.Hit hit : result.getHits()) {
+            ProductSummary product = products.get(hit.getProductId());
+            // A product deleted after ranking but before loading is simply skipped
+            if (product != null) {
+                hits.add(new ProductSearchResult.Hit(product, hit.getScore()));
+            }
+        }
+        return new ProductSearchResult(query, result.getTotalMatches(), hits);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.SuggestionIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions for the search bar. Built from the repository during
+ * {@link CatalogWarmup} or when the catalog is reloaded, then maintained from
+ * {@link ProductChangedEvent}s without rescanning the table.
+ */
+@Service
+public class ProductSuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Replaced wholesale by a rebuild, so readers see either the old or the new index, never a partial one
+    private volatile SuggestionIndex index = new SuggestionIndex();
+
+    // Holds the lock across the scan, so a change committed meanwhile is applied to the new index after the swap
+    @EventListener(CatalogReloadedEvent.class)
+    public synchronized void rebuild() {
+        rebuild(productRepository.findSummaries(null, null, 0, 0));
+    }
+
+    /**
+     * Rebuilds from an already loaded catalog, so a warm-up can share one scan
+     * between indexes. Summaries carry every indexed field without the cost of
+     * loading entities.
+     */
+    public synchronized void rebuild(List<ProductSummary> products) {
+        long start = System.nanoTime();
+        SuggestionIndex next = SuggestionIndex.bulkLoad();
+        for (ProductSummary product : products) {
+            next.upsert(product.getId(), product.getName(), product.getColor(), product.getCategory(),
+                    product.getStock() != null ? product.getStock() : 0);
+        }
+        next.compact();
+        index = next;
+        log.info("Suggestion index built with {} keys in {} ms ({} compactions)", index.keyCount(),
+                (System.nanoTime() - start) / 1_000_000, index.compactionCount());
+    }
+
+    @EventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (event.isRemoved()) {
+            index.remove(event.getProduct().getId());
+        } else {
+            upsert(event.getProduct());
+        }
+    }
+
+    public List<SuggestionIndex.Suggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    private void upsert(Product product) {
+        index.upsert(product.getId(), product.getName(), product.getColor(), product.getCategory(),
+                product.getStock() != null ? product.getStock() : 0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.service;
+
+import com.ecommerce.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Periodically expires reservations that were neither confirmed nor cancelled
+ * in time, returning their stock. Each order is released in its own
+ * transaction so one failure does not hold back the rest.
+ */
+@Component
+public class ReservationSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationSweeper.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Scheduled(fixedDelayString = "${orders.reservation.sweep-interval:PT30S}")
+    public void sweep() {
+        int expired = 0;
+        List<Long> ids;
+        int before;
+        do {
+            before = expired;
+            ids = orderRepository.findExpiredIds(Instant.now(), PageRequest.of(0, BATCH_SIZE));
+            for (Long id : ids) {
+                try {
+                    if (orderService.expire(id)) {
+                        expired++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to expire order {}", id, e);
+                }
+            }
+            // Stop on a batch that made no progress rather than retrying the same failures
+        } while (ids.size() == BATCH_SIZE && expired > before);
+        if (expired > 0) {
+            log.info("Expired {} stock reservations", expired);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.supplier;
+
+/**
+ * Per-supplier circuit breaker. After {@code failureThreshold} consecutive
+ * failures it opens and rejects calls for {@code openNanos}; then a single
+ * probe is let through (half-open) and its outcome closes or re-opens it.
+ *
+ * <p>Thread-safe.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long changedAt = System.nanoTime();
+
+    public CircuitBreaker(int failureThreshold, long openNanos) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * Whether a call may go ahead now. Every permitted call must be followed by
+     * {@link #onSuccess} or {@link #onFailure}.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - changedAt < openNanos) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                return true;
+            default:
+                // One probe at a time, unless the last one never reported back
+                if (System.nanoTime() - changedAt < openNanos) {
+                    return false;
+                }
+                changedAt = System.nanoTime();
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        failures = 0;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            failures = 0;
+            transition(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void transition(State next) {
+        state = next;
+        changedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,382 @@
+package com.ecommerce.supplier;
+
+import com.ecommerce.importer.JsonArraySource;
+import com.ecommerce.importer.ProductSource;
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Non-blocking HTTP access to supplier feeds. Every call runs against a
+ * deadline; connection errors, timeouts, 429 and 5xx responses are retried up
+ * to {@code supplier.fetch.max-attempts} times with exponential backoff and
+ * full jitter, as long as the deadline leaves room. Each named supplier has a
+ * {@link CircuitBreaker}, so a supplier that keeps failing is skipped at once
+ * instead of costing a timeout on every call.
+ *
+ * <p>Requests go out with {@code sendAsync}; bodies are parsed on a small pool
+ * of I/O threads as they stream in, so independent sources are fetched
+ * concurrently and callers can wait on all of them together.
+ *
+ * <p>With {@code supplier.cache.enabled} responses are kept in a
+ * {@link SupplierResponseCache}: a response still fresh under its
+ * {@code max-age} is read from disk without a request, a stale one is
+ * revalidated with {@code If-None-Match}/{@code If-Modified-Since}, and when a
+ * supplier is down, too slow for the deadline or its circuit is open, the last
+ * stored copy is served instead of failing.
+ *
+ * <p>Every fetch is timed as {@code supplier.fetch}, tagged with the supplier,
+ * where the body came from ({@code network}, {@code cache} or {@code stale}) and
+ * the outcome. Failed attempts, retried or not, count in
+ * {@code supplier.fetch.errors}, and {@code supplier.circuit.open} is 1 while a
+ * supplier's circuit is open.
+ */
+@Component
+public class SupplierClient {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierClient.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${supplier.fetch.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${supplier.fetch.backoff:PT0.2S}")
+    private Duration backoff;
+
+    @Value("${supplier.fetch.max-backoff:PT2S}")
+    private Duration maxBackoff;
+
+    @Value("${supplier.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${supplier.circuit.open-duration:PT30S}")
+    private Duration openDuration;
+
+    @Value("${supplier.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${supplier.cache.dir:data/supplier-cache}")
+    private Path cacheDir;
+
+    private SupplierResponseCache cache;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(daemonThreads());
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Fetches a JSON array of {@code type} (the whole body, or the value of
+     * {@code arrayField}) and transforms each element into a product while the
+     * body streams in. Completes exceptionally once retries or the deadline run out.
+     */
+    public <T> CompletableFuture<List<Product>> fetchProducts(String supplier, String url, Duration deadline,
+                                                              String arrayField, Class<T> type,
+                                                              Function<T, Product> transform) {
+        URI uri = URI.create(url);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        InputStream fresh = fresh(uri);
+        if (fresh != null) {
+            return CompletableFuture.supplyAsync(() -> parse(url, fresh, arrayField, type, transform), executor)
+                    .whenComplete((products, error) -> record(sample, supplier, "cache", error));
+        }
+        String[] source = {"network"};
+        return withRetries(supplier, uri, System.nanoTime() + deadline.toNanos(), 1, timeout ->
+                send(uri, timeout).thenApplyAsync(body -> parse(url, body, arrayField, type, transform), executor))
+                .exceptionallyCompose(error -> {
+                    source[0] = "stale";
+                    return stale(uri, error)
+                            .thenApplyAsync(body -> parse(url, body, arrayField, type, transform), executor);
+                })
+                .whenComplete((products, error) -> record(sample, supplier, source[0], error));
+    }
+
+    /**
+     * Opens a feed for streaming, blocking until the response headers arrive.
+     * Retries and the circuit breaker cover the request; reading the body is up
+     * to the caller.
+     */
+    public InputStream open(String supplier, String url, Duration deadline) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            URI uri = URI.create(url);
+            InputStream fresh = fresh(uri);
+            if (fresh != null) {
+                record(sample, supplier, "cache", null);
+                return fresh;
+            }
+            String[] source = {"network"};
+            return withRetries(supplier, uri, System.nanoTime() + deadline.toNanos(), 1, timeout -> send(uri, timeout))
+                    .exceptionallyCompose(error -> {
+                        source[0] = "stale";
+                        return stale(uri, error);
+                    })
+                    .whenComplete((body, error) -> record(sample, supplier, source[0], error))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted fetching " + url);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    public CircuitBreaker.State circuitState(String supplier) {
+        CircuitBreaker breaker = breakers.get(supplier);
+        return breaker != null ? breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (cacheEnabled) {
+            cache = new SupplierResponseCache(cacheDir);
+            log.info("Caching supplier responses in {}", cacheDir.toAbsolutePath());
+        }
+    }
+
+    public boolean isCaching() {
+        return cache != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <R> CompletableFuture<R> withRetries(String supplier, URI uri, long deadline, int attempt,
+                                                 Function<Duration, CompletableFuture<R>> call) {
+        CircuitBreaker breaker = breakers.computeIfAbsent(supplier, this::newBreaker);
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            countError(supplier, "deadline");
+            return CompletableFuture.failedFuture(new SupplierUnavailableException("Deadline exceeded for " + uri));
+        }
+        if (!breaker.tryAcquire()) {
+            countError(supplier, "circuit_open");
+            return CompletableFuture.failedFuture(
+                    new SupplierUnavailableException("Circuit open for " + supplier));
+        }
+        return call.apply(Duration.ofNanos(remaining))
+                .orTimeout(remaining, TimeUnit.NANOSECONDS)
+                .handle((result, error) -> {
+                    if (error == null) {
+                        breaker.onSuccess();
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = unwrap(error);
+                    countError(supplier, errorTag(cause));
+                    if (countsAsOutage(cause)) {
+                        breaker.onFailure();
+                    } else {
+                        breaker.onSuccess();
+                    }
+                    long delay = backoffNanos(attempt);
+                    if (isRetryable(cause) && attempt < maxAttempts && System.nanoTime() + delay < deadline) {
+                        log.warn("Retrying {} after {} (attempt {})", uri, cause, attempt);
+                        return CompletableFuture.runAsync(() -> {},
+                                        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor))
+                                .thenCompose(ignored -> withRetries(supplier, uri, deadline, attempt + 1, call));
+                    }
+                    return CompletableFuture.<R>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<InputStream> send(URI uri, Duration timeout) {
+        SupplierResponseCache.Entry cached = cache != null ? cache.lookup(uri) : null;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .GET();
+        if (cached != null && cached.getEtag() != null) {
+            builder.header("If-None-Match", cached.getEtag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.header("If-Modified-Since", cached.getLastModified());
+        }
+        SupplierResponseCache.Entry validated = cached;
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    try {
+                        if (response.statusCode() == 304 && validated != null) {
+                            response.body().close();
+                            return cache.open(cache.revalidated(uri, validated, response.headers()));
+                        }
+                        if (response.statusCode() != 200) {
+                            response.body().close();
+                            throw new CompletionException(new SupplierUnavailableException(
+                                    uri + " returned HTTP " + response.statusCode(), response.statusCode()));
+                        }
+                        return cache != null ? cache.store(uri, response.headers(), response.body()) : response.body();
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    // A stored response still within its max-age, or null when the supplier has to be asked
+    private InputStream fresh(URI uri) {
+        SupplierResponseCache.Entry cached = cache != null ? cache.lookup(uri) : null;
+        if (cached == null || !cached.isFresh(System.currentTimeMillis())) {
+            return null;
+        }
+        try {
+            return cache.open(cached);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Falls back to the stored response when the supplier could not be reached in time
+    private CompletableFuture<InputStream> stale(URI uri, Throwable error) {
+        Throwable cause = unwrap(error);
+        SupplierResponseCache.Entry cached = cache != null && countsAsOutage(cause) ? cache.lookup(uri) : null;
+        if (cached == null) {
+            return CompletableFuture.failedFuture(cause);
+        }
+        try {
+            InputStream body = cache.open(cached);
+            log.warn("Serving cached response for {} after {}", uri, cause.toString());
+            return CompletableFuture.completedFuture(body);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(cause);
+        }
+    }
+
+    private <T> List<Product> parse(String url, InputStream body, String arrayField, Class<T> type,
+                                    Function<T, Product> transform) {
+        List<Product> products = new ArrayList<>();
+        try (body) {
+            try (ProductSource source = new JsonArraySource<>(body, objectMapper, arrayField, type, transform)) {
+                Product product;
+                while ((product = source.next(error -> log.warn("Skipping product from {}: {}", url, error))) != null) {
+                    products.add(product);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Keep a body we could not parse from replacing the cached copy
+                SupplierResponseCache.discard(body);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return products;
+    }
+
+    private CircuitBreaker newBreaker(String supplier) {
+        CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openDuration.toNanos());
+        Gauge.builder("supplier.circuit.open", breaker, b -> b.getState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                .description("1 while the supplier's circuit breaker is open")
+                .tag("supplier", supplier)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private void record(Timer.Sample sample, String supplier, String source, Throwable error) {
+        sample.stop(Timer.builder("supplier.fetch")
+                .description("Supplier fetches, from the first request to the parsed body")
+                .tag("supplier", supplier)
+                .tag("source", source)
+                .tag("outcome", error == null ? "success" : "error")
+                .register(meterRegistry));
+    }
+
+    private void countError(String supplier, String error) {
+        meterRegistry.counter("supplier.fetch.errors", "supplier", supplier, "error", error).increment();
+    }
+
+    private static String errorTag(Throwable cause) {
+        if (cause instanceof SupplierUnavailableException && ((SupplierUnavailableException) cause).getStatus() > 0) {
+            return "http_" + ((SupplierUnavailableException) cause).getStatus();
+        }
+        return cause instanceof TimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    // Full jitter: a uniform delay between zero and the capped exponential backoff
+    private long backoffNanos(int attempt) {
+        long ceiling = Math.min(maxBackoff.toNanos(), backoff.toNanos() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof SupplierUnavailableException) {
+            int status = ((SupplierUnavailableException) cause).getStatus();
+            return status == 429 || status >= 500;
+        }
+        // A malformed body will be just as malformed on the next attempt
+        return (cause instanceof IOException && !(cause instanceof JsonProcessingException))
+                || cause instanceof TimeoutException;
+    }
+
+    // A 4xx means the supplier is up and answered; only the rest should trip the breaker
+    private static boolean countsAsOutage(Throwable cause) {
+        if (cause instanceof SupplierUnavailableException) {
+            int status = ((SupplierUnavailableException) cause).getStatus();
+            return status == 0 || status == 429 || status >= 500;
+        }
+        return true;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException
+                || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "supplier-fetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,308 @@
+package com.ecommerce.supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Disk cache of supplier responses keyed by URL. Each entry is a small
+ * properties file with the validators ({@code ETag}, {@code Last-Modified})
+ * and freshness ({@code Cache-Control: max-age}) of the response, pointing at a
+ * separate body file; both are replaced by atomic moves, so a reader sees
+ * either the old or the new response, never a mix.
+ *
+ * <p>Bodies are written while the caller streams them: the stream returned by
+ * {@link #store} copies everything it reads to a temporary file and commits the
+ * entry when it is closed after a complete read. Responses marked
+ * {@code no-store} are passed through untouched.
+ */
+public class SupplierResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierResponseCache.class);
+
+    private final Path dir;
+
+    public SupplierResponseCache(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+    }
+
+    /**
+     * The stored entry for {@code uri}, or null.
+     */
+    public Entry lookup(URI uri) {
+        Path meta = dir.resolve(key(uri) + ".meta");
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable cache entry {}: {}", meta, e.getMessage());
+            return null;
+        }
+        if (!uri.toString().equals(properties.getProperty("url"))) {
+            return null;
+        }
+        return new Entry(properties);
+    }
+
+    public InputStream open(Entry entry) throws IOException {
+        return Files.newInputStream(dir.resolve(entry.body));
+    }
+
+    /**
+     * Wraps a 200 response body so that reading it also caches it.
+     */
+    public InputStream store(URI uri, HttpHeaders headers, InputStream upstream) throws IOException {
+        CacheControl cacheControl = CacheControl.parse(headers);
+        if (cacheControl.noStore) {
+            return upstream;
+        }
+        String body = key(uri) + "-" + System.nanoTime() + ".body";
+        Path temp = Files.createTempFile(dir, "body", ".tmp");
+        return new CachingInputStream(upstream, temp, () -> {
+            Files.move(temp, dir.resolve(body), StandardCopyOption.ATOMIC_MOVE);
+            Entry previous = lookup(uri);
+            writeMeta(uri, body, headers, cacheControl);
+            if (previous != null && !previous.body.equals(body)) {
+                Files.deleteIfExists(dir.resolve(previous.body));
+            }
+        });
+    }
+
+    /**
+     * Drops the copy being made by a {@link #store} stream, e.g. because the
+     * body turned out to be malformed. Other streams are left alone.
+     */
+    public static void discard(InputStream body) {
+        if (body instanceof CachingInputStream) {
+            ((CachingInputStream) body).failed = true;
+        }
+    }
+
+    /**
+     * Records a 304 for {@code entry}: the body stays, validators and freshness
+     * are taken from the new response where it sends them.
+     */
+    public Entry revalidated(URI uri, Entry entry, HttpHeaders headers) throws IOException {
+        CacheControl cacheControl = CacheControl.parse(headers);
+        Properties properties = writeMeta(uri, entry.body,
+                headers.firstValue("ETag").orElse(entry.etag),
+                headers.firstValue("Last-Modified").orElse(entry.lastModified),
+                headers.firstValue("Cache-Control").isPresent() ? cacheControl : entry.cacheControl());
+        return new Entry(properties);
+    }
+
+    private void writeMeta(URI uri, String body, HttpHeaders headers, CacheControl cacheControl) throws IOException {
+        writeMeta(uri, body, headers.firstValue("ETag").orElse(null),
+                headers.firstValue("Last-Modified").orElse(null), cacheControl);
+    }
+
+    private Properties writeMeta(URI uri, String body, String etag, String lastModified, CacheControl cacheControl)
+            throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("url", uri.toString());
+        properties.setProperty("body", body);
+        if (etag != null) {
+            properties.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            properties.setProperty("lastModified", lastModified);
+        }
+        properties.setProperty("storedAt", Long.toString(System.currentTimeMillis()));
+        properties.setProperty("maxAge", Long.toString(cacheControl.maxAge));
+        properties.setProperty("noCache", Boolean.toString(cacheControl.noCache));
+        Path temp = Files.createTempFile(dir, "meta", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, dir.resolve(key(uri) + ".meta"), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        return properties;
+    }
+
+    private static String key(URI uri) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(uri.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached response: where its body is and how it may be reused.
+     */
+    public static final class Entry {
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        private final long storedAt;
+        private final long maxAge;
+        private final boolean noCache;
+
+        Entry(Properties properties) {
+            this.body = properties.getProperty("body");
+            this.etag = properties.getProperty("etag");
+            this.lastModified = properties.getProperty("lastModified");
+            this.storedAt = Long.parseLong(properties.getProperty("storedAt", "0"));
+            this.maxAge = Long.parseLong(properties.getProperty("maxAge", "-1"));
+            this.noCache = Boolean.parseBoolean(properties.getProperty("noCache"));
+        }
+
+        /**
+         * Whether it may be used without asking the supplier.
+         */
+        public boolean isFresh(long now) {
+            return !noCache && maxAge > 0 && now - storedAt < maxAge * 1000;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        private CacheControl cacheControl() {
+            return new CacheControl(false, noCache, maxAge);
+        }
+    }
+
+    private static final class CacheControl {
+        private final boolean noStore;
+        private final boolean noCache;
+        private final long maxAge;
+
+        CacheControl(boolean noStore, boolean noCache, long maxAge) {
+            this.noStore = noStore;
+            this.noCache = noCache;
+            this.maxAge = maxAge;
+        }
+
+        static CacheControl parse(HttpHeaders headers) {
+            boolean noStore = false;
+            boolean noCache = false;
+            long maxAge = -1;
+            for (String value : headers.allValues("Cache-Control")) {
+                for (String directive : value.split(",")) {
+                    String d = directive.trim().toLowerCase(Locale.ROOT);
+                    if (d.equals("no-store")) {
+                        noStore = true;
+                    } else if (d.equals("no-cache")) {
+                        noCache = true;
+                    } else if (d.startsWith("max-age=")) {
+                        try {
+                            maxAge = Long.parseLong(d.substring("max-age=".length()).replace("\"", ""));
+                        } catch (NumberFormatException ignored) {
+                            // Treated as no max-age: revalidate every time
+                        }
+                    }
+                }
+            }
+            return new CacheControl(noStore, noCache, maxAge);
+        }
+    }
+
+    private interface Commit {
+        void run() throws IOException;
+    }
+
+    /**
+     * Copies what the caller reads into a temporary file. On close the rest of
+     * the body is drained so the copy is complete, and the entry is committed;
+     * a read error discards it instead.
+     */
+    private static final class CachingInputStream extends FilterInputStream {
+        private final Path temp;
+        private final OutputStream copy;
+        private final Commit commit;
+        private boolean failed;
+        private boolean closed;
+
+        CachingInputStream(InputStream upstream, Path temp, Commit commit) throws IOException {
+            super(upstream);
+            this.temp = temp;
+            this.copy = Files.newOutputStream(temp);
+            this.commit = commit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    copy.write(b, off, n);
+                }
+                return n;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes still belong in the copy
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (!failed) {
+                    byte[] buffer = new byte[8192];
+                    while (read(buffer, 0, buffer.length) >= 0) {
+                        // Drain whatever the caller did not need, e.g. fields after the product array
+                    }
+                }
+                copy.close();
+                if (!failed) {
+                    commit.run();
+                }
+            } catch (IOException e) {
+                log.warn("Not caching supplier response: {}", e.getMessage());
+            } finally {
+                Files.deleteIfExists(temp);
+                super.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.supplier;
+
+import java.io.IOException;
+
+/**
+ * A supplier call that failed for good: its circuit is open, its deadline
+ * passed, or it returned a non-retryable status.
+ */
+public class SupplierUnavailableException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public SupplierUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public SupplierUnavailableException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * HTTP status that caused the failure, or 0 when there was no response.
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,55 @@
+-- Catalog and order schema as mapped by the JPA entities; Hibernate validates against it on startup
+
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE products (
+    id           BIGINT                      NOT NULL,
+    name         VARCHAR(255)                NOT NULL,
+    description  VARCHAR(255)                NOT NULL,
+    price        NUMERIC(38, 2)              NOT NULL,
+    category     VARCHAR(255)                NOT NULL,
+    image_url    VARCHAR(1000),
+    size         VARCHAR(255)                NOT NULL,
+    color        VARCHAR(255)                NOT NULL,
+    stock        INTEGER                     NOT NULL,
+    version      BIGINT,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE,
+    supplier     VARCHAR(32),
+    supplier_id  VARCHAR(64),
+    content_hash VARCHAR(64),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_products_supplier UNIQUE (supplier, supplier_id)
+);
+
+CREATE INDEX idx_products_category ON products (category);
+CREATE INDEX idx_products_price ON products (price, id);
+
+CREATE TABLE product_images (
+    product_id BIGINT        NOT NULL,
+    position   INTEGER       NOT NULL,
+    url        VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (position, product_id),
+    CONSTRAINT fk_product_images_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE orders (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    status     VARCHAR(16)                 NOT NULL CHECK (status IN ('RESERVED', 'CONFIRMED', 'CANCELLED', 'EXPIRED')),
+    total      NUMERIC(38, 2)              NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_orders_status_expires ON orders (status, expires_at);
+
+CREATE TABLE order_items (
+    order_id     BIGINT         NOT NULL,
+    line         INTEGER        NOT NULL,
+    product_id   BIGINT         NOT NULL,
+    product_name VARCHAR(255)   NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (line, order_id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
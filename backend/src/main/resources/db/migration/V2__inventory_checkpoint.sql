@@ -0,0 +1,9 @@
+-- Highest inventory journal sequence already folded into products.stock (see InventoryService)
+
+CREATE TABLE inventory_checkpoint (
+    id  INT    NOT NULL,
+    seq BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO inventory_checkpoint (id, seq) VALUES (1, 0);
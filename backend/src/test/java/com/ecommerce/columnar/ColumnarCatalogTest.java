@@ -0,0 +1,123 @@
+package com.ecommerce.columnar;
+
+import com.ecommerce.dto.ProductQuery;
+import com.ecommerce.dto.ProductSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarCatalogTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private ColumnarCatalog catalog;
+
+    @BeforeEach
+    void write() throws IOException {
+        file = dir.resolve("catalog.columnar");
+        // Out of id order on purpose: the writer sorts
+        List<ProductSummary> products = List.of(
+                product(30, "Wool Coat", "WOMEN", "M", "Grey", "120.00", 4),
+                product(10, "Cotton Tee", "MEN", "M", "Black", "19.99", 10),
+                product(20, "Slim Jeans", "MEN", "L", null, "79.50", 0),
+                product(40, "Summer Dress", "WOMEN", "S", "Red", "79.50", 7));
+        ColumnarCatalogWriter.write(file, products, 42, 4, 1_700_000_000_000_000L);
+        catalog = ColumnarCatalog.open(file);
+    }
+
+    @Test
+    void roundTripsEveryColumn() {
+        assertEquals(4, catalog.size());
+        assertEquals(42, catalog.getRevision());
+        assertEquals(4, catalog.getSourceRows());
+        assertEquals(1_700_000_000_000_000L, catalog.getSourceModified());
+
+        ProductSummary jeans = catalog.summary(catalog.indexOf(20));
+        assertEquals("Slim Jeans", jeans.getName());
+        assertEquals("Slim Jeans description", jeans.getDescription());
+        assertEquals(new BigDecimal("79.50"), jeans.getPrice());
+        assertEquals("MEN", jeans.getCategory());
+        assertEquals("L", jeans.getSize());
+        assertNull(jeans.getColor());
+        assertEquals(0, jeans.getStock());
+        assertEquals("https://img/20.jpg", jeans.getImageUrl());
+        assertEquals(-1, catalog.indexOf(25));
+    }
+
+    @Test
+    void filtersInIdOrder() {
+        ProductQuery query = new ProductQuery();
+        query.setSizes(List.of("M", "L"));
+        query.setMaxPrice(new BigDecimal("100"));
+
+        assertArrayEquals(new long[]{10, 20}, ids(catalog.filter(query)));
+
+        query = new ProductQuery();
+        query.setCategory("women");
+        assertArrayEquals(new long[]{30, 40}, ids(catalog.filter(query)));
+
+        query.setCategory("KIDS");
+        assertEquals(0, catalog.filter(query).length);
+    }
+
+    @Test
+    void sortsByPriceWithIdTieBreak() {
+        ProductQuery query = new ProductQuery();
+        query.setSort("price-asc");
+        assertArrayEquals(new long[]{10, 20, 40, 30}, ids(catalog.filter(query)));
+
+        query.setSort("price-desc");
+        assertArrayEquals(new long[]{30, 40, 20, 10}, ids(catalog.filter(query)));
+    }
+
+    @Test
+    void rejectsTextSearchAndUnknownSorts() {
+        ProductQuery text = new ProductQuery();
+        text.setQ("coat");
+        assertThrows(IllegalArgumentException.class, () -> catalog.filter(text));
+
+        ProductQuery sort = new ProductQuery();
+        sort.setSort("newest");
+        assertThrows(IllegalArgumentException.class, () -> catalog.filter(sort));
+    }
+
+    @Test
+    void keepsServingTheOldMappingAfterReplacement() throws IOException {
+        ColumnarCatalogWriter.write(file, List.of(product(99, "New", "MEN", "M", "Blue", "1.00", 1)), 43);
+
+        assertEquals(4, catalog.size());
+        assertEquals("Wool Coat", catalog.name(catalog.indexOf(30)));
+        assertEquals(1, ColumnarCatalog.open(file).size());
+    }
+
+    @Test
+    void refusesOtherFiles() throws IOException {
+        Path other = dir.resolve("other");
+        Files.write(other, new byte[256]);
+        assertThrows(IOException.class, () -> ColumnarCatalog.open(other));
+    }
+
+    private long[] ids(int[] rows) {
+        return Arrays.stream(rows).mapToLong(catalog::id).toArray();
+    }
+
+    private static ProductSummary product(long id, String name, String category, String size, String color,
+                                          String price, int stock) {
+        return new ProductSummary(id, name, name + " description", new BigDecimal(price), category,
+                "https://img/" + id + ".jpg", size, color, stock);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdminTokenFilterTest {
+
+    private AdminTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdminTokenFilter();
+        ReflectionTestUtils.setField(filter, "token", "secret");
+    }
+
+    @Test
+    void refusesAdminPostWithoutToken() throws Exception {
+        assertForbidden(post("/api/products/sync", null));
+    }
+
+    @Test
+    void refusesPercentEncodedPath() throws Exception {
+        assertForbidden(post("/api/products/%73ync", null));
+        assertForbidden(post("/api/products/import%2Fdummyjson", null));
+    }
+
+    @Test
+    void refusesPathWithMatrixParameters() throws Exception {
+        assertForbidden(post("/api/products/sync;x=1", null));
+        assertForbidden(post("/api/products;x=1/columnar", null));
+    }
+
+    @Test
+    void refusesWrongToken() throws Exception {
+        assertForbidden(post("/api/products/import", "guess"));
+    }
+
+    @Test
+    void passesWithToken() throws Exception {
+        assertPassed(post("/api/products/sync;x=1", "secret"));
+    }
+
+    @Test
+    void ignoresOtherRequests() throws Exception {
+        assertPassed(post("/api/orders", null));
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/products/columnar");
+        assertPassed(get);
+    }
+
+    @Test
+    void refusesEverythingWhileNoTokenIsConfigured() throws Exception {
+        ReflectionTestUtils.setField(filter, "token", "");
+        assertForbidden(post("/api/products/sync", ""));
+    }
+
+    private static MockHttpServletRequest post(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (token != null) {
+            request.addHeader(AdminTokenFilter.HEADER, token);
+        }
+        return request;
+    }
+
+    private void assertForbidden(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertEquals(403, response.getStatus(), request.getRequestURI());
+        assertNull(chain.getRequest(), request.getRequestURI());
+    }
+
+    private void assertPassed(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertEquals(200, response.getStatus(), request.getRequestURI());
+        assertNotNull(chain.getRequest(), request.getRequestURI());
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductControllerTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProductController()).build();
+    }
+
+    @Test
+    void rejectsPageWhoseOffsetOverflows() throws Exception {
+        mvc.perform(get("/api/products").param("page", "2147483647").param("size", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("page is out of range"));
+        mvc.perform(get("/api/products").param("page", "21474837").param("size", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsInvertedPriceRange() throws Exception {
+        mvc.perform(get("/api/products").param("minPrice", "50").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+    }
+}
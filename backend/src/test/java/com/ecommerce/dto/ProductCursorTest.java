@@ -0,0 +1,56 @@
+package com.ecommerce.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductCursorTest {
+
+    @Test
+    void roundTripsPriceCursor() {
+        ProductSummary last = new ProductSummary(42L, "Jeans", "Slim", new BigDecimal("79.90"), "MEN", null, "L",
+                "Blue", 3);
+        ProductCursor cursor = ProductCursor.decode(ProductCursor.after(ProductSort.PRICE_DESC, last).encode());
+
+        assertEquals(ProductSort.PRICE_DESC, cursor.getSort());
+        assertEquals(new BigDecimal("79.90"), cursor.getPrice());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void idCursorCarriesNoPrice() {
+        ProductSummary last = new ProductSummary(7L, "Tee", "Cotton", new BigDecimal("19.99"), "MEN", null, "M",
+                "White", 5);
+        ProductCursor cursor = ProductCursor.decode(ProductCursor.after(ProductSort.ID, last).encode());
+
+        assertEquals(ProductSort.ID, cursor.getSort());
+        assertNull(cursor.getPrice());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new ProductCursor(ProductSort.PRICE_ASC, new BigDecimal("1234567.89"), Long.MAX_VALUE).encode();
+        assertEquals(token, token.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode(encode("v2:ID::1")));
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode(encode("v1:NOPE::1")));
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode(encode("v1:ID::x")));
+        // A price sort needs the price of the last row
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode(encode("v1:PRICE_ASC::1")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopen() throws IOException {
+        Path path = dir.resolve("inventory.wal");
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            journal.append(1, 10, -2);
+            journal.append(2, 11, 5);
+            journal.sync();
+        }
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            journal.append(3, 10, -1);
+            journal.sync();
+
+            List<InventoryJournal.Record> records = journal.readAll();
+            assertEquals(3, records.size());
+            assertRecord(records.get(0), 1, 10, -2);
+            assertRecord(records.get(1), 2, 11, 5);
+            assertRecord(records.get(2), 3, 10, -1);
+        }
+    }
+
+    @Test
+    void stopsAtTornTail() throws IOException {
+        Path path = dir.resolve("inventory.wal");
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            journal.append(1, 10, -2);
+            journal.sync();
+        }
+        // Half a frame, as left by a crash in the middle of a write
+        Files.write(path, new byte[12], StandardOpenOption.APPEND);
+
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            List<InventoryJournal.Record> records = journal.readAll();
+            assertEquals(1, records.size());
+            assertRecord(records.get(0), 1, 10, -2);
+        }
+    }
+
+    @Test
+    void stopsAtCorruptFrame() throws IOException {
+        Path path = dir.resolve("inventory.wal");
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            journal.append(1, 10, -2);
+            journal.append(2, 10, -3);
+            journal.append(3, 10, -4);
+            journal.sync();
+        }
+        // Overwrite a byte of the second record's delta without fixing its checksum
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), 24 + 16);
+        }
+
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            List<InventoryJournal.Record> records = journal.readAll();
+            assertEquals(1, records.size());
+            assertRecord(records.get(0), 1, 10, -2);
+        }
+    }
+
+    @Test
+    void truncateDropsEverything() throws IOException {
+        Path path = dir.resolve("inventory.wal");
+        try (InventoryJournal journal = new InventoryJournal(path)) {
+            journal.append(1, 10, -2);
+            journal.sync();
+            journal.truncate();
+            assertTrue(journal.readAll().isEmpty());
+
+            journal.append(2, 11, 1);
+            journal.sync();
+            assertEquals(1, journal.readAll().size());
+        }
+        assertEquals(24, Files.size(path));
+    }
+
+    private static void assertRecord(InventoryJournal.Record record, long seq, long productId, int delta) {
+        assertEquals(seq, record.getSeq());
+        assertEquals(productId, record.getProductId());
+        assertEquals(delta, record.getDelta());
+    }
+}
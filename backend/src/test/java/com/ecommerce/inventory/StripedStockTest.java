@@ -0,0 +1,78 @@
+package com.ecommerce.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedStockTest {
+
+    @Test
+    void takesAcrossStripesAndRefusesWhenShort() {
+        StripedStock stock = new StripedStock(10, 4);
+        // More than any single stripe holds, so this goes through reconciliation
+        assertTrue(stock.tryTake(7));
+        assertEquals(3, stock.total());
+
+        assertFalse(stock.tryTake(4));
+        assertEquals(3, stock.total());
+
+        stock.give(2);
+        assertTrue(stock.tryTake(5));
+        assertEquals(0, stock.total());
+    }
+
+    @Test
+    void takeUpToStopsAtZero() {
+        StripedStock stock = new StripedStock(5, 3);
+        assertEquals(2, stock.takeUpTo(2));
+        assertEquals(3, stock.total());
+        assertEquals(3, stock.takeUpTo(10));
+        assertEquals(0, stock.total());
+    }
+
+    @Test
+    void rejectsNegativeStock() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedStock(-1, 2));
+    }
+
+    @Test
+    void concurrentBuyersNeverOversell() throws InterruptedException {
+        int units = 1000;
+        int threads = 16;
+        StripedStock stock = new StripedStock(units, 8);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> buyers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread buyer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < units; i++) {
+                    if (stock.tryTake(1)) {
+                        sold.incrementAndGet();
+                    }
+                }
+            });
+            buyer.start();
+            buyers.add(buyer);
+        }
+        start.countDown();
+        for (Thread buyer : buyers) {
+            buyer.join();
+        }
+
+        assertEquals(units, sold.get());
+        assertEquals(0, stock.total());
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void load() {
+        index = new FacetIndex();
+        index.upsert(1, "MEN", "M", "Black", new BigDecimal("19.99"));
+        index.upsert(2, "MEN", "L", "Blue", new BigDecimal("49.99"));
+        index.upsert(3, "WOMEN", "M", "Black", new BigDecimal("50.00"));
+        index.upsert(4, "WOMEN", "S", "Red", new BigDecimal("250"));
+        index.optimize();
+    }
+
+    @Test
+    void selectionsAreOredWithinAndAndedAcrossFacets() {
+        FacetIndex.Result result = index.query(Map.of(
+                FacetIndex.Facet.SIZE, List.of("M", "L"),
+                FacetIndex.Facet.COLOR, List.of("Black")));
+
+        assertArrayEquals(new int[]{1, 3}, result.getMatching().toArray());
+    }
+
+    @Test
+    void countsIgnoreTheirOwnFacetsSelection() {
+        FacetIndex.Result result = index.query(Map.of(FacetIndex.Facet.CATEGORY, List.of("MEN")));
+
+        assertEquals(Map.of("MEN", 2, "WOMEN", 2), result.getCounts().get(FacetIndex.Facet.CATEGORY));
+        assertEquals(Map.of("M", 1, "L", 1, "S", 0), result.getCounts().get(FacetIndex.Facet.SIZE));
+    }
+
+    @Test
+    void priceBucketsAreInNumericOrder() {
+        FacetIndex.Result result = index.query(Map.of());
+
+        assertEquals(List.of("0-25", "25-50", "50-100", "200+"),
+                List.copyOf(result.getCounts().get(FacetIndex.Facet.PRICE).keySet()));
+        assertEquals("50-100", FacetIndex.priceBucket(new BigDecimal("50")));
+        assertEquals("25-50", FacetIndex.priceBucket(new BigDecimal("49.99")));
+    }
+
+    @Test
+    void upsertMovesAndRemoveDrops() {
+        index.upsert(4, "WOMEN", "S", "Black", new BigDecimal("250"));
+        index.remove(1);
+
+        FacetIndex.Result result = index.query(Map.of(FacetIndex.Facet.COLOR, List.of("Black")));
+
+        assertArrayEquals(new int[]{3, 4}, result.getMatching().toArray());
+        assertFalse(result.getCounts().get(FacetIndex.Facet.COLOR).containsKey("Red"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "Cotton Tee", "A soft shirt for summer");
+        index.upsert(2, "Linen Shirt", "Breathable linen");
+        index.upsert(3, "Denim Jacket", "Goes well with a shirt");
+
+        InvertedIndex.Result result = index.search("shirt", 10);
+
+        assertEquals(3, result.getTotalMatches());
+        assertEquals(2L, result.getHits().get(0).getProductId());
+    }
+
+    @Test
+    void lastTermMatchesAsPrefix() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "Slim Fit Jeans", "Stretch denim");
+        index.upsert(2, "Jersey Dress", "Soft cotton");
+
+        assertEquals(List.of(1L), ids(index.search("slim jea", 10)));
+        assertEquals(List.of(2L), ids(index.search("jer", 10)));
+    }
+
+    @Test
+    void upsertReplacesAndRemoveDrops() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "Red Scarf", "Wool");
+        index.upsert(1, "Blue Scarf", "Wool");
+
+        assertTrue(index.search("red", 10).getHits().isEmpty());
+        assertEquals(List.of(1L), ids(index.search("blue", 10)));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertTrue(index.search("scarf", 10).getHits().isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void denseQueriesRankDocumentsMatchingMoreTerms() {
+        InvertedIndex index = new InvertedIndex();
+        // Enough postings that a two-term query is scored term-at-a-time
+        for (long id = 1; id <= 12_000; id++) {
+            index.upsert(id, "Basic Tee " + id, "Plain cotton");
+        }
+        index.upsert(5_000, "Basic Tee", "Plain cotton with linen blend");
+
+        InvertedIndex.Result result = index.search("cotton linen", 5);
+
+        assertEquals(12_000, result.getTotalMatches());
+        assertEquals(5_000L, result.getHits().get(0).getProductId());
+        assertEquals(5, result.getHits().size());
+    }
+
+    @Test
+    void repeatedUpdatesCompactToOneDocument() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 5_000; i++) {
+            index.upsert(7, "Hoodie v" + i, "Fleece");
+        }
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(7L), ids(index.search("hoodie", 10)));
+        assertEquals(List.of(7L), ids(index.search("v4999", 10)));
+        assertTrue(index.search("v0", 10).getHits().isEmpty());
+    }
+
+    private static List<Long> ids(InvertedIndex.Result result) {
+        return result.getHits().stream().map(InvertedIndex.Hit::getProductId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionIndexTest {
+
+    @Test
+    void matchesAnyWordStart() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.upsert(1, "Slim Fit Jeans", "Blue", "MEN", 5);
+
+        assertEquals(List.of("Slim Fit Jeans"), texts(index.suggest("jea", 10)));
+        assertEquals(List.of("Slim Fit Jeans"), texts(index.suggest("FIT", 10)));
+        assertTrue(index.suggest("eans", 10).isEmpty());
+    }
+
+    @Test
+    void heavierSuggestionsComeFirst() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.upsert(1, "Black Tee", "Black", "MEN", 1);
+        index.upsert(2, "Blazer", "Navy", "MEN", 50);
+
+        List<SuggestionIndex.Suggestion> suggestions = index.suggest("bl", 10);
+
+        assertEquals(List.of("Blazer", "Black", "Black Tee"), texts(suggestions));
+        assertEquals(51, suggestions.get(0).getWeight());
+        assertEquals(SuggestionIndex.COLOR, suggestions.get(1).getType());
+    }
+
+    @Test
+    void stockChangesAndRemovalsMoveWeights() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.upsert(1, "Wool Coat", "Grey", "WOMEN", 10);
+        index.upsert(2, "Wool Hat", "Grey", "WOMEN", 1);
+        index.compact();
+
+        index.upsert(1, "Wool Coat", "Grey", "WOMEN", 0);
+        assertEquals(List.of("Wool Hat", "Wool Coat"), texts(index.suggest("wool", 10)));
+
+        index.remove(2);
+        assertEquals(List.of("Wool Coat"), texts(index.suggest("wool", 10)));
+        assertEquals(1, index.suggest("grey", 10).get(0).getWeight());
+    }
+
+    @Test
+    void bulkLoadIsSearchableAfterCompact() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.clear();
+        for (long id = 1; id <= 3_000; id++) {
+            index.upsert(id, "Parka " + id, "Olive", "MEN", (int) id);
+        }
+        index.compact();
+
+        List<SuggestionIndex.Suggestion> top = index.suggest("parka", 3);
+        assertEquals(List.of("Parka 3000", "Parka 2999", "Parka 2998"), texts(top));
+        assertTrue(index.keyCount() > 3_000);
+
+        // Added after the compaction, so it is served from the delta
+        index.upsert(5_000, "Parka Deluxe", "Olive", "MEN", 10_000);
+        assertEquals("Parka Deluxe", index.suggest("parka", 1).get(0).getText());
+    }
+
+    @Test
+    void bulkLoadCompactsOnceAtTheEnd() {
+        SuggestionIndex index = SuggestionIndex.bulkLoad();
+        for (int i = 0; i < 5_000; i++) {
+            index.upsert(i, "Product " + i, "Color " + (i % 40), "CATEGORY", 1);
+        }
+        assertEquals(0, index.compactionCount());
+        assertTrue(index.suggest("product", 1).isEmpty());
+
+        index.compact();
+
+        assertEquals(1, index.compactionCount());
+        assertEquals(List.of("Product 4999"), texts(index.suggest("4999", 10)));
+    }
+
+    @Test
+    void plainIndexCompactsAsTheDeltaGrows() {
+        SuggestionIndex index = new SuggestionIndex();
+        for (int i = 0; i < 5_000; i++) {
+            index.upsert(i, "Product " + i, "Color " + (i % 40), "CATEGORY", 1);
+        }
+        assertTrue(index.compactionCount() > 1);
+    }
+
+    private static List<String> texts(List<SuggestionIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionIndex.Suggestion::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.search.SuggestionIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductSuggestServiceTest {
+
+    @Test
+    void rebuildSortsTheKeysOnce() {
+        List<ProductSummary> products = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            products.add(new ProductSummary(id, "Product " + id, null, BigDecimal.TEN, "MEN",
+                    null, "M", "Color " + (id % 50), 3));
+        }
+        ProductSuggestService service = new ProductSuggestService();
+
+        service.rebuild(products);
+
+        SuggestionIndex index = (SuggestionIndex) ReflectionTestUtils.getField(service, "index");
+        assertEquals(1, index.compactionCount());
+        assertEquals("Product 20000", service.suggest("20000", 1).get(0).getText());
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SupplierClient} with its {@link SupplierResponseCache} against a stub
+ * supplier on a local port: fresh responses are reused without a request,
+ * stale ones are revalidated, the stored copy covers an outage, and
+ * {@code no-store} responses are never written.
+ */
+class SupplierResponseCacheTest {
+
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private volatile Responder responder;
+    private SupplierClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private String url;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/products", exchange -> {
+            ifNoneMatch.add(String.valueOf(exchange.getRequestHeaders().getFirst("If-None-Match")));
+            try (exchange) {
+                responder.respond(exchange);
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/products";
+
+        meterRegistry = new SimpleMeterRegistry();
+        client = new SupplierClient();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(client, "maxAttempts", 1);
+        ReflectionTestUtils.setField(client, "backoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "maxBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "failureThreshold", 100);
+        ReflectionTestUtils.setField(client, "openDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "cacheEnabled", true);
+        ReflectionTestUtils.setField(client, "cacheDir", cacheDir);
+        client.init();
+    }
+
+    @AfterEach
+    void stop() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void freshResponseIsReadFromDiskWithoutRequest() throws IOException {
+        responder = ok("[1]", "max-age=60", "\"v1\"");
+        assertEquals("[1]", fetch());
+
+        responder = ok("[2]", "max-age=60", "\"v2\"");
+        assertEquals("[1]", fetch());
+        assertEquals(1, ifNoneMatch.size());
+    }
+
+    @Test
+    void notModifiedReusesStoredBody() throws IOException {
+        responder = ok("[1]", "max-age=0", "\"v1\"");
+        assertEquals("[1]", fetch());
+
+        responder = exchange -> {
+            assertEquals("\"v1\"", exchange.getRequestHeaders().getFirst("If-None-Match"));
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(304, -1);
+        };
+        assertEquals("[1]", fetch());
+        assertEquals(List.of("null", "\"v1\""), ifNoneMatch);
+    }
+
+    @Test
+    void staleCopyIsServedWhenSupplierFails() throws IOException {
+        responder = ok("[1]", "max-age=0", "\"v1\"");
+        assertEquals("[1]", fetch());
+
+        responder = exchange -> exchange.sendResponseHeaders(503, -1);
+        assertEquals("[1]", fetch());
+        assertEquals(1, meterRegistry.get("supplier.fetch").tag("source", "stale").timer().count());
+    }
+
+    @Test
+    void noStoreResponseIsNeverCached() throws IOException {
+        responder = ok("[1]", "no-store", "\"v1\"");
+        assertEquals("[1]", fetch());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".meta")));
+        }
+
+        responder = exchange -> exchange.sendResponseHeaders(503, -1);
+        assertThrows(IOException.class, this::fetch);
+        assertEquals(List.of("null", "null"), ifNoneMatch);
+    }
+
+    // Reads the whole body and closes it, which is when the cache commits the entry
+    private String fetch() throws IOException {
+        try (InputStream body = client.open("stub", url, DEADLINE)) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Responder ok(String body, String cacheControl, String etag) {
+        return exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        };
+    }
+
+    private interface Responder {
+        void respond(HttpExchange exchange) throws IOException;
+    }
+}
@@ -429,13 +429,7 @@ function App() {
 
 // Wishlist Page Component
 function WishlistPage({ wishlist, onBack, onAddToCart, onRemoveFromWishlist, onViewDetails }) {
-  const getFirstImage = (product) => {
-    if (product.imageUrls) {
-      const urls = product.imageUrls.split(',').map(url => url.trim()).filter(url => url)
-      return urls[0] || ''
-    }
-    return product.imageUrl || ''
-  }
+  const getFirstImage = (product) => product.imageUrl || ''
 
   return (
     <div className="container mx-auto px-4 py-8">
@@ -7,14 +7,7 @@ function Cart({ cart, isOpen, onClose, onUpdateQuantity, onRemoveItem, onCheckou
 
   const total = calculateTotal()
 
-  // Parse imageUrls for display
-  const getFirstImage = (product) => {
-    if (product.imageUrls) {
-      const urls = product.imageUrls.split(',').map(url => url.trim()).filter(url => url)
-      return urls[0] || ''
-    }
-    return product.imageUrl || ''
-  }
+  const getFirstImage = (product) => product.imageUrl || ''
 
   if (!isOpen) return null
 
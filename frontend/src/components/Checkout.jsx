@@ -1,7 +1,13 @@
 import { useState } from 'react'
+import axios from 'axios'
+
+const ORDERS_URL = (import.meta.env.VITE_API_URL || 'http://localhost:8080/api/products').replace(/\/products$/, '/orders')
 
 function Checkout({ cart, isOpen, onClose, onOrderComplete }) {
   const [step, setStep] = useState(1)
+  // Server-side reservation holding stock while the shopper reviews the order
+  const [order, setOrder] = useState(null)
+  const [orderError, setOrderError] = useState('')
   const [formData, setFormData] = useState({
     email: '',
     fullName: '',
@@ -61,28 +67,70 @@ function Checkout({ cart, isOpen, onClose, onOrderComplete }) {
     }
   }
 
+  const errorMessage = (err, fallback) =>
+    (typeof err.response?.data === 'string' && err.response.data) || fallback
+
+  const releaseReservation = () => {
+    if (order) {
+      axios.delete(`${ORDERS_URL}/${order.id}`).catch(() => {})
+      setOrder(null)
+    }
+  }
+
+  const reserveStock = async () => {
+    setOrderError('')
+    try {
+      const response = await axios.post(ORDERS_URL, {
+        items: cart.map(item => ({ productId: item.product.id, quantity: item.quantity }))
+      })
+      setOrder(response.data)
+      setStep(3)
+    } catch (err) {
+      setOrderError(errorMessage(err, 'Could not reserve your items. Please try again.'))
+    }
+  }
+
   const handleNext = () => {
     if (step === 1 && validateStep1()) {
       setStep(2)
     } else if (step === 2 && validateStep2()) {
-      setStep(3)
+      reserveStock()
     }
   }
 
   const handleBack = () => {
+    if (step === 3) {
+      releaseReservation()
+    }
+    setOrderError('')
     setStep(step - 1)
   }
 
-  const handleComplete = () => {
+  const handleClose = () => {
+    releaseReservation()
+    setOrderError('')
+    onClose()
+  }
+
+  const handleComplete = async () => {
+    if (!order) return
+    try {
+      await axios.post(`${ORDERS_URL}/${order.id}/checkout`)
+    } catch (err) {
+      setOrderError(errorMessage(err, 'Could not complete your order. Please try again.'))
+      return
+    }
     if (onOrderComplete) {
       onOrderComplete({
-        orderNumber: `ORD-${Date.now()}`,
+        orderNumber: `ORD-${order.id}`,
         items: cart,
         total: finalTotal,
         shipping: shipping,
         customer: formData
       })
     }
+    setOrder(null)
+    setOrderError('')
     onClose()
     setStep(1)
     setFormData({
@@ -101,7 +149,7 @@ function Checkout({ cart, isOpen, onClose, onOrderComplete }) {
 
   return (
     <>
-      <div className="fixed inset-0 bg-black bg-opacity-50 z-50" onClick={onClose} />
+      <div className="fixed inset-0 bg-black bg-opacity-50 z-50" onClick={handleClose} />
       <div className="fixed inset-0 z-50 flex items-center justify-center p-4">
         <div className="bg-white rounded-lg max-w-4xl w-full max-h-[90vh] overflow-y-auto" onClick={(e) => e.stopPropagation()}>
           <div className="p-6">
@@ -263,7 +311,7 @@ function Checkout({ cart, isOpen, onClose, onOrderComplete }) {
                   {cart.map(item => (
                     <div key={item.product.id} className="flex items-center space-x-4 p-4 bg-gray-50 rounded-lg">
                       <img
-                        src={item.product.imageUrls ? item.product.imageUrls.split(',')[0] : item.product.imageUrl}
+                        src={item.product.imageUrl}
                         alt={item.product.name}
                         className="w-16 h-16 object-cover rounded"
                       />
@@ -292,6 +340,10 @@ function Checkout({ cart, isOpen, onClose, onOrderComplete }) {
               </div>
             )}
 
+            {orderError && (
+              <p className="mt-6 text-sm text-red-600">{orderError}</p>
+            )}
+
             {/* Navigation Buttons */}
             <div className="flex justify-between mt-8">
               <div>
@@ -306,7 +358,7 @@ function Checkout({ cart, isOpen, onClose, onOrderComplete }) {
               </div>
               <div className="flex space-x-4">
                 <button
-                  onClick={onClose}
+                  onClick={handleClose}
                   className="px-6 py-2 border border-gray-300 rounded-lg hover:bg-gray-50"
                 >
                   Cancel
@@ -5,9 +5,9 @@ function ProductCard({ product, onAddToCart, onViewDetails, onToggleWishlist, is
   const [currentImageIndex, setCurrentImageIndex] = useState(0)
   const [imageError, setImageError] = useState(false)
   
-  // Parse imageUrls from comma-separated string or use imageUrl for backward compatibility
-  const imageUrls = product.imageUrls 
-    ? product.imageUrls.split(',').map(url => url.trim()).filter(url => url)
+  // Listings only carry the primary image; the full gallery comes with the detail view
+  const imageUrls = product.gallery?.length
+    ? product.gallery
     : (product.imageUrl ? [product.imageUrl] : [])
 
   useEffect(() => {
@@ -1,9 +1,13 @@
 import { useState, useEffect } from 'react'
+import axios from 'axios'
+
+const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api/products'
 
 function ProductDetail({ product, onClose, onAddToCart, onToggleWishlist, isInWishlist }) {
   const [currentImageIndex, setCurrentImageIndex] = useState(0)
   const [selectedSize, setSelectedSize] = useState(product?.size || '')
   const [quantity, setQuantity] = useState(1)
+  const [gallery, setGallery] = useState(product?.gallery || null)
 
   useEffect(() => {
     if (product) {
@@ -13,10 +17,25 @@ function ProductDetail({ product, onClose, onAddToCart, onToggleWishlist, isInWi
     }
   }, [product])
 
+  // Listing responses only carry the primary image, so fetch the gallery on open
+  useEffect(() => {
+    if (!product) return
+    if (product.gallery) {
+      setGallery(product.gallery)
+      return
+    }
+    setGallery(null)
+    let cancelled = false
+    axios.get(`${API_URL}/${product.id}`)
+      .then(response => { if (!cancelled) setGallery(response.data.gallery || null) })
+      .catch(err => console.error('Error fetching product gallery:', err))
+    return () => { cancelled = true }
+  }, [product])
+
   if (!product) return null
 
-  const imageUrls = product.imageUrls 
-    ? product.imageUrls.split(',').map(url => url.trim()).filter(url => url)
+  const imageUrls = gallery?.length
+    ? gallery
     : (product.imageUrl ? [product.imageUrl] : [])
 
   const handleAddToCart = () => {